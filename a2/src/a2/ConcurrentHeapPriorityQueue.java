@@ -0,0 +1,270 @@
+package a2;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe priority queue using flat combining over a sequential priority queue.
+ * <p>
+ * Each thread publishes its operation and then either waits for it to be done or, if the lock is free, becomes the
+ * combiner and applies every published operation to the underlying queue in one pass. Only the combiner touches the
+ * queue, so the heaps stay in its cache and the lock is taken once per batch instead of once per operation. Every
+ * operation takes effect while the combiner holds the lock, between its call and its return, so the queue is
+ * linearizable.
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class ConcurrentHeapPriorityQueue<K extends Comparable<? super K>, V> implements PriorityQueue<K, V> {
+    // Upper bound on requests a combiner serves before releasing the lock, so one thread is not stuck combining
+    private static final int MAX_COMBINE = 1024;
+    private static final int SPINS_BEFORE_YIELD = 64;
+
+    private enum Operation {
+        SIZE, IS_EMPTY, INSERT, MIN, MAX, REMOVE_MIN, REMOVE_MAX, REMOVE, REPLACE_KEY, REPLACE_VALUE,
+        REMOVE_MIN_BATCH, REMOVE_MAX_BATCH, DRAIN_TO
+    }
+
+    /**
+     * A published operation. Each thread reuses one request, since it only ever has one outstanding.
+     */
+    private static class Request<K extends Comparable<? super K>, V> {
+        Operation operation;
+        K key;
+        V value;
+        Entry<K, V> entry;
+        int count;
+        Collection<? super Entry<K, V>> out;
+        Object result;
+        Throwable exception;    // a RuntimeException or Error, since apply throws nothing checked
+        volatile boolean done;
+    }
+
+    private final PriorityQueue<K, V> pq;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ConcurrentLinkedQueue<Request<K, V>> published = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Request<K, V>> requests = ThreadLocal.withInitial(Request::new);
+
+    /**
+     * Default constructor, backed by an unbounded HeapPriorityQueue.
+     */
+    public ConcurrentHeapPriorityQueue() {
+        this(HeapPriorityQueue.unbounded());
+    }
+
+
+    /**
+     * ConcurrentHeapPriorityQueue constructor wrapping an existing queue. The queue must not be used directly
+     * afterwards.
+     *
+     * @param pq the sequential queue to apply operations to
+     */
+    public ConcurrentHeapPriorityQueue(PriorityQueue<K, V> pq) {
+        this.pq = pq;
+    }
+
+
+    /****************************************************
+     *
+     *             Priority Queue Methods
+     *
+     ****************************************************/
+
+    public int size() {
+        return (Integer) execute(Operation.SIZE, null, null, null);
+    }
+
+    public boolean isEmpty() {
+        return (Boolean) execute(Operation.IS_EMPTY, null, null, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Entry<K, V> insert(K key, V value) throws IllegalArgumentException {
+        return (Entry<K, V>) execute(Operation.INSERT, key, value, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Entry<K, V> min() {
+        return (Entry<K, V>) execute(Operation.MIN, null, null, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Entry<K, V> removeMin() {
+        return (Entry<K, V>) execute(Operation.REMOVE_MIN, null, null, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Entry<K, V> max() {
+        return (Entry<K, V>) execute(Operation.MAX, null, null, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Entry<K, V> removeMax() {
+        return (Entry<K, V>) execute(Operation.REMOVE_MAX, null, null, null);
+    }
+
+    public void remove(Entry<K, V> entry) throws IllegalArgumentException {
+        execute(Operation.REMOVE, null, null, entry);
+    }
+
+    public void replaceKey(Entry<K, V> entry, K key) throws IllegalArgumentException {
+        execute(Operation.REPLACE_KEY, key, null, entry);
+    }
+
+    public void replaceValue(Entry<K, V> entry, V value) throws IllegalArgumentException {
+        execute(Operation.REPLACE_VALUE, null, value, entry);
+    }
+
+    /**
+     * Removes up to k entries with minimal keys as one atomic operation.
+     */
+    @Override
+    public int removeMin(int k, Collection<? super Entry<K, V>> out) {
+        return (Integer) execute(Operation.REMOVE_MIN_BATCH, k, out);
+    }
+
+    /**
+     * Removes up to k entries with maximal keys as one atomic operation.
+     */
+    @Override
+    public int removeMax(int k, Collection<? super Entry<K, V>> out) {
+        return (Integer) execute(Operation.REMOVE_MAX_BATCH, k, out);
+    }
+
+    /**
+     * Removes all entries as one atomic operation.
+     */
+    @Override
+    public int drainTo(Collection<? super Entry<K, V>> out) {
+        return (Integer) execute(Operation.DRAIN_TO, 0, out);
+    }
+
+
+    /****************************************************
+     *
+     *               Flat Combining
+     *
+     ****************************************************/
+
+    private Object execute(Operation operation, K key, V value, Entry<K, V> entry) {
+        Request<K, V> request = requests.get();
+        request.operation = operation;
+        request.key = key;
+        request.value = value;
+        request.entry = entry;
+        return execute(request);
+    }
+
+
+    private Object execute(Operation operation, int count, Collection<? super Entry<K, V>> out) {
+        Request<K, V> request = requests.get();
+        request.operation = operation;
+        request.count = count;
+        request.out = out;
+        return execute(request);
+    }
+
+
+    /**
+     * Publishes an operation and returns its result once it has been applied, by this thread or another combiner.
+     *
+     * @return the result of the operation
+     * @throws RuntimeException whatever the underlying queue threw for this operation
+     * @throws Error           whatever the underlying queue threw for this operation
+     */
+    private Object execute(Request<K, V> request) {
+        request.done = false;
+        published.offer(request);
+
+        int spins = 0;
+        while (!request.done) {
+            if (lock.tryLock()) {
+                try {
+                    combine();
+                }
+                finally {
+                    lock.unlock();
+                }
+            }
+            else if (++spins < SPINS_BEFORE_YIELD) {
+                Thread.onSpinWait();
+            }
+            else {
+                spins = 0;
+                Thread.yield();
+            }
+        }
+
+        Object result = request.result;
+        Throwable exception = request.exception;
+        request.key = null;
+        request.value = null;
+        request.entry = null;
+        request.out = null;
+        request.result = null;
+        request.exception = null;
+
+        if (exception instanceof Error)
+            throw (Error) exception;
+        if (exception != null)
+            throw (RuntimeException) exception;
+        return result;
+    }
+
+
+    /**
+     * Applies published operations to the queue. Must hold the lock. Whatever an operation throws, Errors included,
+     * is handed to its waiting thread, so no waiter is left spinning on a request that will never be done.
+     */
+    private void combine() {
+        Request<K, V> request;
+        for (int i = 0; i < MAX_COMBINE && (request = published.poll()) != null; i++) {
+            try {
+                request.result = apply(request);
+            }
+            catch (Throwable e) {
+                request.exception = e;
+            }
+            finally {
+                request.done = true;
+            }
+        }
+    }
+
+
+    private Object apply(Request<K, V> request) {
+        switch (request.operation) {
+            case SIZE:
+                return pq.size();
+            case IS_EMPTY:
+                return pq.isEmpty();
+            case INSERT:
+                return pq.insert(request.key, request.value);
+            case MIN:
+                return pq.min();
+            case MAX:
+                return pq.max();
+            case REMOVE_MIN:
+                return pq.removeMin();
+            case REMOVE_MAX:
+                return pq.removeMax();
+            case REMOVE:
+                pq.remove(request.entry);
+                return null;
+            case REPLACE_KEY:
+                pq.replaceKey(request.entry, request.key);
+                return null;
+            case REPLACE_VALUE:
+                pq.replaceValue(request.entry, request.value);
+                return null;
+            case REMOVE_MIN_BATCH:
+                return pq.removeMin(request.count, request.out);
+            case REMOVE_MAX_BATCH:
+                return pq.removeMax(request.count, request.out);
+            case DRAIN_TO:
+                return pq.drainTo(request.out);
+            default:
+                throw new AssertionError(request.operation);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package a2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Multithreaded throughput of ConcurrentHeapPriorityQueue against a HeapPriorityQueue behind one global lock.
+ * Each thread inserts, then removes from the min end for urgent work or the max end for eviction.
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class ConcurrentHeapPriorityQueueBenchmark {
+    private static final int PREFILL = 100_000;
+    private static final long WARMUP_MILLIS = 2000;
+    private static final long RUN_MILLIS = 3000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+
+        System.out.println("Mixed insert/removeMin/removeMax, million ops per second:");
+        System.out.printf("%-8s %12s %12s%n", "threads", "global lock", "combining");
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            double locked = run(new LockedPriorityQueue<>(HeapPriorityQueue.<Integer, Integer>unbounded()), threads);
+            double combining = run(new ConcurrentHeapPriorityQueue<>(), threads);
+            System.out.printf("%-8d %12.2f %12.2f%n", threads, locked, combining);
+        }
+    }
+
+    private static double run(PriorityQueue<Integer, Integer> pq, int threads) throws InterruptedException {
+        Random rng = new Random(12345);
+        for (int i = 0; i < PREFILL; i++) {
+            pq.insert(rng.nextInt(), i);
+        }
+
+        measure(pq, threads, WARMUP_MILLIS);
+        return measure(pq, threads, RUN_MILLIS) / (RUN_MILLIS * 1000.0);
+    }
+
+    private static long measure(PriorityQueue<Integer, Integer> pq, int threads, long millis)
+            throws InterruptedException {
+        AtomicBoolean stop = new AtomicBoolean();
+        CountDownLatch done = new CountDownLatch(threads);
+        long[] counts = new long[threads];
+        List<Thread> workers = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            workers.add(new Thread(() -> {
+                Random random = new Random(thread);
+                long ops = 0;
+                while (!stop.get()) {
+                    pq.insert(random.nextInt(), thread);
+                    if (random.nextBoolean())
+                        pq.removeMin();
+                    else
+                        pq.removeMax();
+                    ops += 2;
+                }
+                counts[thread] = ops;
+                done.countDown();
+            }));
+        }
+
+        workers.forEach(Thread::start);
+        Thread.sleep(millis);
+        stop.set(true);
+        done.await();
+
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * The baseline: every operation takes the same lock.
+     */
+    private static class LockedPriorityQueue<K extends Comparable<? super K>, V> implements PriorityQueue<K, V> {
+        private final PriorityQueue<K, V> pq;
+        private final ReentrantLock lock = new ReentrantLock();
+
+        LockedPriorityQueue(PriorityQueue<K, V> pq) {
+            this.pq = pq;
+        }
+
+        public int size() {
+            lock.lock();
+            try {
+                return pq.size();
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        public boolean isEmpty() {
+            lock.lock();
+            try {
+                return pq.isEmpty();
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        public Entry<K, V> insert(K key, V value) {
+            lock.lock();
+            try {
+                return pq.insert(key, value);
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        public Entry<K, V> min() {
+            lock.lock();
+            try {
+                return pq.min();
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        public Entry<K, V> removeMin() {
+            lock.lock();
+            try {
+                return pq.removeMin();
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        public Entry<K, V> max() {
+            lock.lock();
+            try {
+                return pq.max();
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        public Entry<K, V> removeMax() {
+            lock.lock();
+            try {
+                return pq.removeMax();
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        public void remove(Entry<K, V> entry) {
+            lock.lock();
+            try {
+                pq.remove(entry);
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        public void replaceKey(Entry<K, V> entry, K key) {
+            lock.lock();
+            try {
+                pq.replaceKey(entry, key);
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        public void replaceValue(Entry<K, V> entry, V value) {
+            lock.lock();
+            try {
+                pq.replaceValue(entry, value);
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+    }
+}
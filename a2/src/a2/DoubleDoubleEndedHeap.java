@@ -0,0 +1,394 @@
+package a2;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Double-ended priority queue of primitive double keys with int payload ids.
+ * <p>
+ * Uses the same pair of linked heaps as HeapPriorityQueue, but stores keys, ids and the position of each element's
+ * associate in the other heap in parallel arrays instead of Entry objects, so no operation allocates (except for
+ * growing an unbounded heap).
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class DoubleDoubleEndedHeap {
+    private static final int GROWTH_FACTOR = 2;
+
+    private double[] minKeys;
+    private int[] minIds;
+    private int[] minAssociates;  // position of the associate in maxKeys
+    private double[] maxKeys;
+    private int[] maxIds;
+    private int[] maxAssociates;  // position of the associate in minKeys
+    private double bufferKey;
+    private int bufferId;
+    private boolean hasBuffer;
+    private int tail = -1;
+    private final boolean unbounded;
+
+    /**
+     * Default constructor
+     */
+    public DoubleDoubleEndedHeap() {
+        this(100);
+    }
+
+
+    /**
+     * DoubleDoubleEndedHeap constructor with max storage of size elements.
+     * <p>
+     * Note that due to use of a buffer, if size is even, the true storage size is size + 1.
+     *
+     * @param size max storage size
+     */
+    public DoubleDoubleEndedHeap(int size) {
+        this(size, false);
+    }
+
+
+    /**
+     * DoubleDoubleEndedHeap constructor with an initial storage of size elements.
+     *
+     * @param size      initial (or, if bounded, max) storage size
+     * @param unbounded true to grow the heaps when full instead of throwing
+     */
+    public DoubleDoubleEndedHeap(int size, boolean unbounded) {
+        if (size < 0)
+            throw new IllegalArgumentException("Negative size: " + size);
+
+        this.unbounded = unbounded;
+        minKeys = new double[size / 2];
+        minIds = new int[size / 2];
+        minAssociates = new int[size / 2];
+        maxKeys = new double[size / 2];
+        maxIds = new int[size / 2];
+        maxAssociates = new int[size / 2];
+    }
+
+
+    /****************************************************
+     *
+     *             Priority Queue Methods
+     *
+     ****************************************************/
+
+    /**
+     * Returns the number of items in the priority queue.
+     * O(1)
+     *
+     * @return number of items
+     */
+    public int size() {
+        return 2 * (tail + 1) + (hasBuffer ? 1 : 0);
+    }
+
+
+    /**
+     * Tests whether the priority queue is empty.
+     * O(1)
+     *
+     * @return true if the priority queue is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return tail < 0 && !hasBuffer;
+    }
+
+
+    /**
+     * Removes all items from the priority queue. Storage is kept for reuse.
+     * O(1)
+     */
+    public void clear() {
+        tail = -1;
+        hasBuffer = false;
+    }
+
+
+    /**
+     * Inserts a key and its payload id.
+     * O(log(n))
+     *
+     * @param key the key of the new item
+     * @param id  the payload id of the new item
+     * @throws IllegalArgumentException if the key is NaN or the heap is bounded and full
+     */
+    public void insert(double key, int id) throws IllegalArgumentException {
+        if (Double.isNaN(key))
+            throw new IllegalArgumentException("NaN key");
+
+        if (!hasBuffer) {
+            bufferKey = key;
+            bufferId = id;
+            hasBuffer = true;
+            return;
+        }
+
+        if (tail == minKeys.length - 1) {
+            if (!unbounded)
+                throw new IllegalArgumentException("Heap Overflow");
+            resize(Math.max(1, minKeys.length * GROWTH_FACTOR));
+        }
+
+        tail++;
+        if (key < bufferKey) {
+            place(minKeys, minIds, minAssociates, maxAssociates, tail, key, id, tail);
+            place(maxKeys, maxIds, maxAssociates, minAssociates, tail, bufferKey, bufferId, tail);
+        }
+        else {
+            place(minKeys, minIds, minAssociates, maxAssociates, tail, bufferKey, bufferId, tail);
+            place(maxKeys, maxIds, maxAssociates, minAssociates, tail, key, id, tail);
+        }
+        hasBuffer = false;
+
+        upHeap(minKeys, minIds, minAssociates, maxAssociates, tail, true);
+        upHeap(maxKeys, maxIds, maxAssociates, minAssociates, tail, false);
+    }
+
+
+    /**
+     * Returns (but does not remove) the minimal key.
+     * O(1)
+     *
+     * @return the minimal key
+     * @throws NoSuchElementException if empty
+     */
+    public double min() {
+        return minInBuffer() ? bufferKey : minKeys[0];
+    }
+
+
+    /**
+     * Returns the payload id of an item with minimal key.
+     * O(1)
+     *
+     * @return the id of an item having a minimal key
+     * @throws NoSuchElementException if empty
+     */
+    public int minId() {
+        return minInBuffer() ? bufferId : minIds[0];
+    }
+
+
+    /**
+     * Returns (but does not remove) the maximal key.
+     * O(1)
+     *
+     * @return the maximal key
+     * @throws NoSuchElementException if empty
+     */
+    public double max() {
+        return maxInBuffer() ? bufferKey : maxKeys[0];
+    }
+
+
+    /**
+     * Returns the payload id of an item with maximal key.
+     * O(1)
+     *
+     * @return the id of an item having a maximal key
+     * @throws NoSuchElementException if empty
+     */
+    public int maxId() {
+        return maxInBuffer() ? bufferId : maxIds[0];
+    }
+
+
+    /**
+     * Removes an item with minimal key. Read its key first with min() if needed.
+     * O(log(n))
+     *
+     * @return the payload id of the removed item
+     * @throws NoSuchElementException if empty
+     */
+    public int removeMin() {
+        if (minInBuffer()) {
+            hasBuffer = false;
+            return bufferId;
+        }
+        return removeRoot(minKeys, minIds, minAssociates, maxKeys, maxIds, maxAssociates, true);
+    }
+
+
+    /**
+     * Removes an item with maximal key. Read its key first with max() if needed.
+     * O(log(n))
+     *
+     * @return the payload id of the removed item
+     * @throws NoSuchElementException if empty
+     */
+    public int removeMax() {
+        if (maxInBuffer()) {
+            hasBuffer = false;
+            return bufferId;
+        }
+        return removeRoot(maxKeys, maxIds, maxAssociates, minKeys, minIds, minAssociates, false);
+    }
+
+
+    private boolean minInBuffer() {
+        if (isEmpty())
+            throw new NoSuchElementException();
+        return hasBuffer && (tail == -1 || bufferKey < minKeys[0]);
+    }
+
+
+    private boolean maxInBuffer() {
+        if (isEmpty())
+            throw new NoSuchElementException();
+        return hasBuffer && (tail == -1 || bufferKey > maxKeys[0]);
+    }
+
+
+    /**
+     * Removes the root of one heap and re-pairs its associate, as in HeapPriorityQueue.removeExtremum.
+     * O(log(n))
+     *
+     * @param isMin true if this heap is the min heap
+     * @return the payload id of the removed root
+     */
+    private int removeRoot(double[] thisKeys, int[] thisIds, int[] thisAssociates,
+                           double[] otherKeys, int[] otherIds, int[] otherAssociates, boolean isMin) {
+        int ret = thisIds[0];
+        int i = thisAssociates[0];
+        double associateKey = otherKeys[i];
+        int associateId = otherIds[i];
+
+        if (!hasBuffer) {
+            // Fill the root of thisHeap with its tail element
+            if (tail != 0)
+                place(thisKeys, thisIds, thisAssociates, otherAssociates, 0,
+                        thisKeys[tail], thisIds[tail], thisAssociates[tail]);
+
+            // The associate becomes the buffer; fill its hole in otherHeap with that heap's tail element
+            bufferKey = associateKey;
+            bufferId = associateId;
+            hasBuffer = true;
+            if (i != tail)
+                place(otherKeys, otherIds, otherAssociates, thisAssociates, i,
+                        otherKeys[tail], otherIds[tail], otherAssociates[tail]);
+            tail--;
+
+            if (i <= tail)
+                upDownHeap(otherKeys, otherIds, otherAssociates, thisAssociates, i, !isMin);
+            if (tail != -1)
+                downHeap(thisKeys, thisIds, thisAssociates, otherAssociates, 0, isMin);
+        }
+        else {
+            // Form a new pair of the buffer and the associate
+            hasBuffer = false;
+
+            if (isMin ? bufferKey < associateKey : bufferKey > associateKey) {
+                place(thisKeys, thisIds, thisAssociates, otherAssociates, 0, bufferKey, bufferId, i);
+                downHeap(thisKeys, thisIds, thisAssociates, otherAssociates, 0, isMin);
+            }
+            else {
+                place(thisKeys, thisIds, thisAssociates, otherAssociates, 0, associateKey, associateId, i);
+                place(otherKeys, otherIds, otherAssociates, thisAssociates, i, bufferKey, bufferId, 0);
+                downHeap(thisKeys, thisIds, thisAssociates, otherAssociates, 0, isMin);
+                upDownHeap(otherKeys, otherIds, otherAssociates, thisAssociates, i, !isMin);
+            }
+        }
+
+        return ret;
+    }
+
+
+    /****************************************************
+     *
+     *           Methods for Heap Operations
+     *
+     ****************************************************/
+
+    /**
+     * Stores an item at a position and points its associate back at it.
+     * O(1)
+     */
+    private static void place(double[] keys, int[] ids, int[] associates, int[] otherAssociates,
+                              int location, double key, int id, int associate) {
+        keys[location] = key;
+        ids[location] = id;
+        associates[location] = associate;
+        otherAssociates[associate] = location;
+    }
+
+
+    /**
+     * Algorithm to fix element position after placement in an arbitrary position.
+     * O(log(n))
+     */
+    private void upDownHeap(double[] keys, int[] ids, int[] associates, int[] otherAssociates,
+                            int location, boolean isMin) {
+        if (location > 0) {
+            double key = keys[location];
+            double parentKey = keys[(location - 1) / 2];
+            if (isMin ? key < parentKey : key > parentKey) {
+                upHeap(keys, ids, associates, otherAssociates, location, isMin);
+                return;
+            }
+        }
+        downHeap(keys, ids, associates, otherAssociates, location, isMin);
+    }
+
+
+    /**
+     * Moves the element at location towards the root, shifting parents down into the hole instead of swapping.
+     * O(log(n))
+     */
+    private static void upHeap(double[] keys, int[] ids, int[] associates, int[] otherAssociates,
+                               int location, boolean isMin) {
+        double key = keys[location];
+        int id = ids[location];
+        int associate = associates[location];
+
+        while (location > 0) {
+            int parent = (location - 1) / 2;
+            double parentKey = keys[parent];
+            if (isMin ? parentKey <= key : parentKey >= key)
+                break;
+            place(keys, ids, associates, otherAssociates, location, parentKey, ids[parent], associates[parent]);
+            location = parent;
+        }
+
+        place(keys, ids, associates, otherAssociates, location, key, id, associate);
+    }
+
+
+    /**
+     * Moves the element at location towards the leaves, shifting children up into the hole instead of swapping.
+     * O(log(n))
+     */
+    private void downHeap(double[] keys, int[] ids, int[] associates, int[] otherAssociates,
+                          int location, boolean isMin) {
+        double key = keys[location];
+        int id = ids[location];
+        int associate = associates[location];
+
+        int child;
+        while ((child = location * 2 + 1) <= tail) {
+            if (child < tail && (isMin ? keys[child + 1] < keys[child] : keys[child + 1] > keys[child]))
+                child++;
+            double childKey = keys[child];
+            if (isMin ? key <= childKey : key >= childKey)
+                break;
+            place(keys, ids, associates, otherAssociates, location, childKey, ids[child], associates[child]);
+            location = child;
+        }
+
+        place(keys, ids, associates, otherAssociates, location, key, id, associate);
+    }
+
+
+    /**
+     * Reallocates all arrays with the given capacity. Positions are unchanged so associate links remain valid.
+     * O(n)
+     */
+    private void resize(int capacity) {
+        minKeys = Arrays.copyOf(minKeys, capacity);
+        minIds = Arrays.copyOf(minIds, capacity);
+        minAssociates = Arrays.copyOf(minAssociates, capacity);
+        maxKeys = Arrays.copyOf(maxKeys, capacity);
+        maxIds = Arrays.copyOf(maxIds, capacity);
+        maxAssociates = Arrays.copyOf(maxAssociates, capacity);
+    }
+}
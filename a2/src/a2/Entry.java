@@ -1,3 +1,5 @@
+package a2;
+
 public class Entry<K extends Comparable<? super K>, V> {
     K key;            // the key
     V value;          // the value
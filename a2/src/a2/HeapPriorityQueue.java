@@ -0,0 +1,1111 @@
+package a2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Array Heap implimentation of a priority queue
+ *
+ * @author Lachlan Plant
+ */
+public class HeapPriorityQueue<K extends Comparable<? super K>, V> implements PriorityQueue<K, V> {
+    // Unbounded queues double both heaps when full, and if shrinking is enabled halve them when they fall to a
+    // quarter full. Shrinking never goes below the initial capacity.
+    private static final int GROWTH_FACTOR = 2;
+    private static final int SHRINK_THRESHOLD = 4;
+
+    private static final int DEFAULT_ARITY = 2;
+
+    private Entry<K, V>[] minHeap;
+    private Entry<K, V>[] maxHeap;
+    private Entry<K, V> buffer;
+    private int tail = -1;
+    private int modCount;       // structural modifications, for fail-fast iterators
+    private final int initialCapacity;
+    private final boolean unbounded;
+    private final boolean shrinkable;
+
+    // Each heap is ordered by its own comparator, maxOrder being the reverse of minOrder, so the shared heap code
+    // stays polymorphic in the heap it operates on while each compare call site only ever sees these two classes.
+    private final Comparator<? super K> minOrder;
+    private final Comparator<? super K> maxOrder;
+    private final int arity;
+
+    /**
+     * Default constructor
+     */
+    public HeapPriorityQueue() {
+        this(100);
+    }
+
+
+    /**
+     * HeapPriorityQueue constructor with max storage of size elements.
+     * <p>
+     * Note that due to use of a buffer, if size is even, the true storage size is size + 1.
+     *
+     * @param size max storage size
+     */
+    public HeapPriorityQueue(int size) {
+        this(size, false, false);
+    }
+
+
+    /**
+     * HeapPriorityQueue constructor with an initial storage of size elements.
+     * <p>
+     * An unbounded queue grows both heaps geometrically instead of overflowing, so inserts stay amortized O(log(n)).
+     * If shrinkable is also set, the heaps are halved again once they are only a quarter full, but never below the
+     * initial size.
+     *
+     * @param size       initial (or, if bounded, max) storage size
+     * @param unbounded  true to grow the heaps when full instead of throwing
+     * @param shrinkable true to release storage as the queue empties; only meaningful if unbounded
+     */
+    public HeapPriorityQueue(int size, boolean unbounded, boolean shrinkable) {
+        this(size, unbounded, shrinkable, Comparator.naturalOrder());
+    }
+
+
+    /**
+     * HeapPriorityQueue constructor ordering keys with a comparator instead of their natural ordering.
+     *
+     * @param size       initial (or, if bounded, max) storage size
+     * @param unbounded  true to grow the heaps when full instead of throwing
+     * @param shrinkable true to release storage as the queue empties; only meaningful if unbounded
+     * @param comparator the ordering of keys, from min to max
+     */
+    public HeapPriorityQueue(int size, boolean unbounded, boolean shrinkable, Comparator<? super K> comparator) {
+        this(size, unbounded, shrinkable, comparator, DEFAULT_ARITY);
+    }
+
+
+    /**
+     * HeapPriorityQueue constructor with d-ary heaps.
+     * <p>
+     * Wider heaps are shallower, and the children of a node sit next to each other in the array, so a sift touches
+     * fewer cache lines once the heaps outgrow the cache at the price of more comparisons per level. Both heaps use
+     * the same arity.
+     *
+     * @param size       initial (or, if bounded, max) storage size
+     * @param unbounded  true to grow the heaps when full instead of throwing
+     * @param shrinkable true to release storage as the queue empties; only meaningful if unbounded
+     * @param comparator the ordering of keys, from min to max
+     * @param arity      the number of children of each node, at least 2
+     */
+    @SuppressWarnings("unchecked")
+    public HeapPriorityQueue(int size, boolean unbounded, boolean shrinkable, Comparator<? super K> comparator,
+                             int arity) {
+        if (size < 0)
+            throw new IllegalArgumentException("Negative size: " + size);
+        if (arity < 2)
+            throw new IllegalArgumentException("Arity must be at least 2: " + arity);
+
+        initialCapacity = size / 2;
+        this.unbounded = unbounded;
+        this.shrinkable = unbounded && shrinkable;
+        minOrder = comparator;
+        maxOrder = Collections.reverseOrder(comparator);
+        this.arity = arity;
+        minHeap = new Entry[initialCapacity];
+        maxHeap = new Entry[initialCapacity];
+    }
+
+
+    /**
+     * Creates an unbounded HeapPriorityQueue which grows as needed and never throws "Heap Overflow".
+     *
+     * @param <K> the key type
+     * @param <V> the value type
+     * @return an empty unbounded priority queue
+     */
+    public static <K extends Comparable<? super K>, V> HeapPriorityQueue<K, V> unbounded() {
+        return new HeapPriorityQueue<>(100, true, false);
+    }
+
+
+    /****************************************************
+     *
+     *             Priority Queue Methods
+     *
+     ****************************************************/
+
+    /**
+     * Returns the number of items in the priority queue.
+     * O(1)
+     *
+     * @return number of items
+     */
+    public int size() {
+        return 2 * (tail + 1) + (buffer == null ? 0 : 1);
+    } /* size */
+
+
+    /**
+     * Tests whether the priority queue is empty.
+     * O(1)
+     *
+     * @return true if the priority queue is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return tail < 0 && buffer == null;
+    } /* isEmpty */
+
+
+    /**
+     * Inserts a key-value pair and returns the entry created.
+     * O(log(n))
+     *
+     * @param key   the key of the new entry
+     * @param value the associated value of the new entry
+     * @return the entry storing the new key-value pair
+     * @throws IllegalArgumentException if the heap is bounded and full
+     */
+    public Entry<K, V> insert(K key, V value) throws IllegalArgumentException {
+        if (tail == minHeap.length - 1 && buffer != null) {
+            if (!unbounded)
+                throw new IllegalArgumentException("Heap Overflow");
+            resize(Math.max(1, minHeap.length * GROWTH_FACTOR));
+        }
+
+        modCount++;
+        Entry<K, V> e = new Entry<>(key, value);
+        if (buffer == null) {
+            buffer = e;
+        }
+        else {
+            insertPair(e, buffer, true);
+            buffer = null;
+        }
+
+        return e;
+    } /* insert */
+
+    /**
+     * Links two entries as associates and appends them at the tail of the heaps, the smaller one in minHeap.
+     * O(log(n)) if sifted, O(1) otherwise
+     *
+     * @param e     an entry
+     * @param other the entry to pair it with
+     * @param sift  false if the heaps will be heapified afterwards
+     */
+    private void insertPair(Entry<K, V> e, Entry<K, V> other, boolean sift) {
+        e.associate = other;
+        other.associate = e;
+        tail++;
+
+        if (minOrder.compare(e.key, other.key) < 0) {
+            insert(minHeap, e, minOrder, sift);
+            insert(maxHeap, other, maxOrder, sift);
+        }
+        else {
+            insert(minHeap, other, minOrder, sift);
+            insert(maxHeap, e, maxOrder, sift);
+        }
+    }
+
+    /**
+     * Inserts an entry into the specified heap. O(log(n))
+     *
+     * @param heap  a heap
+     * @param e     an entry
+     * @param order the ordering this heap uses
+     * @param sift  false to leave the entry at the tail
+     */
+    private void insert(Entry<K, V>[] heap, Entry<K, V> e, Comparator<? super K> order, boolean sift) {
+        heap[tail] = e;
+        e.setIndex(tail);
+        if (sift)
+            upHeap(heap, tail, order);
+    }
+
+
+    /**
+     * Creates an unbounded HeapPriorityQueue holding the given entries.
+     * O(n)
+     *
+     * @param entries entries not held by any other queue
+     * @param <K>     the key type
+     * @param <V>     the value type
+     * @return a priority queue containing entries
+     */
+    public static <K extends Comparable<? super K>, V> HeapPriorityQueue<K, V> of(Collection<? extends Entry<K, V>> entries) {
+        HeapPriorityQueue<K, V> pq = new HeapPriorityQueue<>(Math.max(100, entries.size()), true, false);
+        pq.addAll(entries);
+        return pq;
+    }
+
+
+    /**
+     * Inserts all the given entries. The entries are paired up and appended to the heaps, then if the batch is large
+     * compared to the queue both heaps are rebuilt bottom-up instead of sifting up each entry.
+     * O(n + k), or O(k log(n)) for small batches
+     *
+     * @param entries entries not held by any other queue
+     * @throws IllegalArgumentException if the heap is bounded and the entries do not fit
+     */
+    public void addAll(Collection<? extends Entry<K, V>> entries) throws IllegalArgumentException {
+        int newSize = size() + entries.size();
+        ensureCapacity(newSize);
+        modCount++;
+
+        boolean heapify = shouldHeapify(entries.size(), newSize);
+        for (Entry<K, V> e : entries) {
+            if (buffer == null) {
+                e.associate = null;
+                buffer = e;
+            }
+            else {
+                insertPair(e, buffer, !heapify);
+                buffer = null;
+            }
+        }
+
+        if (heapify) {
+            heapify(minHeap, minOrder);
+            heapify(maxHeap, maxOrder);
+        }
+    }
+
+
+    /**
+     * Moves every entry of another queue into this one, leaving the other queue empty. Entries keep their identity,
+     * so handles held by callers stay valid for this queue.
+     * <p>
+     * If both queues use the same ordering the other queue's pairs are kept and appended as they are, otherwise its
+     * entries are re-paired. Either way both heaps are then rebuilt bottom-up, or for a small other queue the
+     * appended entries are sifted up.
+     * O(n + m), or O(m log(n)) for a small other queue
+     *
+     * @param other the queue to take entries from
+     * @throws IllegalArgumentException if other is this queue, or this queue is bounded and the entries do not fit
+     */
+    public void meld(HeapPriorityQueue<K, V> other) throws IllegalArgumentException {
+        if (other == this)
+            throw new IllegalArgumentException("Cannot meld a queue with itself");
+
+        int added = other.size();
+        int newSize = size() + added;
+        ensureCapacity(newSize);
+
+        if (!minOrder.equals(other.minOrder)) {
+            List<Entry<K, V>> entries = new ArrayList<>(added);
+            other.drainTo(entries);
+            addAll(entries);
+            return;
+        }
+
+        modCount++;
+        other.modCount++;
+        boolean heapify = shouldHeapify(added, newSize);
+
+        // Pairs are linked by reference, so each heap can be appended on its own
+        for (int i = 0; i <= other.tail; i++) {
+            tail++;
+            insert(minHeap, other.minHeap[i], minOrder, !heapify);
+            insert(maxHeap, other.maxHeap[i], maxOrder, !heapify);
+            other.minHeap[i] = null;
+            other.maxHeap[i] = null;
+        }
+        other.tail = -1;
+
+        if (other.buffer != null) {
+            if (buffer == null) {
+                buffer = other.buffer;
+            }
+            else {
+                insertPair(other.buffer, buffer, !heapify);
+                buffer = null;
+            }
+            other.buffer = null;
+        }
+
+        if (heapify) {
+            heapify(minHeap, minOrder);
+            heapify(maxHeap, maxOrder);
+        }
+        if (other.shrinkable)
+            other.maybeShrink();
+    }
+
+
+    /**
+     * Grows the heaps to hold newSize entries.
+     *
+     * @throws IllegalArgumentException if the heap is bounded and too small
+     */
+    private void ensureCapacity(int newSize) throws IllegalArgumentException {
+        if (newSize / 2 > minHeap.length) {
+            if (!unbounded)
+                throw new IllegalArgumentException("Heap Overflow");
+            resize(Math.max(newSize / 2, minHeap.length * GROWTH_FACTOR));
+        }
+    }
+
+
+    /**
+     * Heapify costs O(n + k) while sifting up costs O(k log(n)); pick the cheaper one.
+     *
+     * @param added   the number of entries being added
+     * @param newSize the size of the queue afterwards
+     * @return true to rebuild both heaps, false to sift up each added entry
+     */
+    private static boolean shouldHeapify(int added, int newSize) {
+        int pairs = newSize / 2;
+        return (long) added * log2(pairs) > 2L * pairs;
+    }
+
+
+    private static int log2(int n) {
+        return 32 - Integer.numberOfLeadingZeros(n);
+    }
+
+
+    /**
+     * Returns (but does not remove) an entry with minimal key.
+     * O(1)
+     *
+     * @return entry having a minimal key (or null if empty)
+     */
+    public Entry<K, V> min() {
+        return extremum(minHeap, minOrder);
+    } /* min */
+
+
+    /**
+     * Returns (but does not remove) an entry with maximal key.
+     * O(1)
+     *
+     * @return entry having a maximal key (or null if empty)
+     */
+    public Entry<K, V> max() {
+        return extremum(maxHeap, maxOrder);
+    }
+
+
+    /**
+     * Returns (but does not remove) an entry with min/max key depending on the heap selected. O(1)
+     *
+     * @param heap  the min or max heap
+     * @param order the ordering this heap uses
+     * @return entry having extreme key (or null if empty)
+     */
+    private Entry<K, V> extremum(Entry<K, V>[] heap, Comparator<? super K> order) {
+        if (isEmpty())
+            return null;
+        if (tail == -1)
+            return buffer;
+        if (buffer == null)
+            return heap[0];
+        if (order.compare(buffer.key, heap[0].key) < 0)
+            return buffer;
+        return heap[0];
+    }
+
+
+    /**
+     * Removes and returns an entry with minimal key.
+     * O(log(n))
+     *
+     * @return the removed entry (or null if empty)
+     */
+    public Entry<K, V> removeMin() {
+        return removeExtremum(minHeap, maxHeap, minOrder);
+    } /* removeMin */
+
+
+    /**
+     * Removes and returns an entry with maximal key.
+     * O(log(n))
+     *
+     * @return the removed entry (or null if empty)
+     */
+    public Entry<K, V> removeMax() {
+        return removeExtremum(maxHeap, minHeap, maxOrder);
+    }
+
+
+    /**
+     * Removes up to k entries with minimal keys and adds them to out in increasing order.
+     * When k is large compared to the queue, the k entries are selected and the remaining ones heapified in a single
+     * pass instead of re-pairing after every removal.
+     * O(min(k log(n), n + k log(k)))
+     *
+     * @param k   the maximum number of entries to remove
+     * @param out the collection to add the removed entries to
+     * @return the number of entries removed
+     */
+    public int removeMin(int k, Collection<? super Entry<K, V>> out) {
+        return removeExtrema(k, out, true);
+    }
+
+
+    /**
+     * Removes up to k entries with maximal keys and adds them to out in decreasing order.
+     * O(min(k log(n), n + k log(k)))
+     *
+     * @param k   the maximum number of entries to remove
+     * @param out the collection to add the removed entries to
+     * @return the number of entries removed
+     */
+    public int removeMax(int k, Collection<? super Entry<K, V>> out) {
+        return removeExtrema(k, out, false);
+    }
+
+
+    /**
+     * Removes all entries and adds them to out in no particular order.
+     * O(n)
+     *
+     * @param out the collection to add the removed entries to
+     * @return the number of entries removed
+     */
+    public int drainTo(Collection<? super Entry<K, V>> out) {
+        modCount++;
+        int n = size();
+        if (buffer != null) {
+            out.add(buffer);
+            buffer = null;
+        }
+        for (int i = 0; i <= tail; i++) {
+            minHeap[i].associate = null;
+            maxHeap[i].associate = null;
+            out.add(minHeap[i]);
+            out.add(maxHeap[i]);
+            minHeap[i] = null;
+            maxHeap[i] = null;
+        }
+        tail = -1;
+
+        if (shrinkable)
+            maybeShrink();
+        return n;
+    }
+
+
+    /**
+     * Removes up to k extreme entries from one end.
+     *
+     * @param k   the maximum number of entries to remove
+     * @param out the collection to add the removed entries to
+     * @param min true to remove minimal entries, false for maximal ones
+     * @return the number of entries removed
+     */
+    private int removeExtrema(int k, Collection<? super Entry<K, V>> out, boolean min) {
+        if (k < 0)
+            throw new IllegalArgumentException("Negative count: " + k);
+
+        int n = size();
+        k = Math.min(k, n);
+        // Each removal sifts both heaps, while the rebuild touches every entry a few times
+        if ((long) k * log2(n) <= 2L * n) {
+            // Removals may shrink the heaps, so the arrays are read afresh for every one
+            for (int i = 0; i < k; i++) {
+                out.add(min ? removeExtremum(minHeap, maxHeap, minOrder) : removeExtremum(maxHeap, minHeap, maxOrder));
+            }
+            return k;
+        }
+
+        // Select in place over the slots of both heaps, keeping the n - k remaining entries in the first slots so
+        // they can be re-paired where they are
+        modCount++;
+        Comparator<? super K> order = min ? minOrder : maxOrder;
+        int remaining = n - k;
+        select(remaining, opposite(order));
+
+        @SuppressWarnings("unchecked")
+        Entry<K, V>[] extrema = new Entry[k];
+        for (int i = 0; i < k; i++) {
+            extrema[i] = slot(remaining + i);
+            extrema[i].associate = null;
+            setSlot(remaining + i, null);
+        }
+        Arrays.sort(extrema, (a, b) -> order.compare(a.key, b.key));
+        out.addAll(Arrays.asList(extrema));
+
+        // Slots 2i and 2i + 1 become pair i, and an odd entry out becomes the buffer
+        Entry<K, V> odd = remaining % 2 == 1 ? slot(remaining - 1) : null;
+        if (odd != null)
+            setSlot(remaining - 1, null);
+        tail = remaining / 2 - 1;
+        buffer = odd;
+        if (odd != null) {
+            odd.associate = null;
+            odd.index = 0;
+        }
+        for (int i = 0; i <= tail; i++) {
+            Entry<K, V> a = minHeap[i];
+            Entry<K, V> b = maxHeap[i];
+            if (minOrder.compare(b.key, a.key) < 0) {
+                minHeap[i] = b;
+                maxHeap[i] = a;
+            }
+            minHeap[i].index = i;
+            maxHeap[i].index = i;
+            minHeap[i].associate = maxHeap[i];
+            maxHeap[i].associate = minHeap[i];
+        }
+        heapify(minHeap, minOrder);
+        heapify(maxHeap, maxOrder);
+
+        if (shrinkable)
+            maybeShrink();
+        return k;
+    }
+
+
+    /**
+     * Returns the entry in a slot, numbering minHeap[i] as slot 2i, maxHeap[i] as slot 2i + 1 and the buffer as
+     * the slot after the heaps.
+     * O(1)
+     */
+    private Entry<K, V> slot(int i) {
+        if (i == 2 * (tail + 1))
+            return buffer;
+        return (i & 1) == 0 ? minHeap[i >> 1] : maxHeap[i >> 1];
+    }
+
+
+    private void setSlot(int i, Entry<K, V> e) {
+        if (i == 2 * (tail + 1))
+            buffer = e;
+        else if ((i & 1) == 0)
+            minHeap[i >> 1] = e;
+        else
+            maxHeap[i >> 1] = e;
+    }
+
+
+    private void swapSlots(int i, int j) {
+        Entry<K, V> e = slot(i);
+        setSlot(i, slot(j));
+        setSlot(j, e);
+    }
+
+
+    /**
+     * Quickselect over the slots: partially reorders them so the first k hold the k least entries in the given order.
+     * Expected O(n)
+     */
+    private void select(int k, Comparator<? super K> order) {
+        int lo = 0, hi = size() - 1;
+        while (lo < hi && k > lo && k <= hi) {
+            // Median of three pivot
+            int mid = (lo + hi) >>> 1;
+            if (order.compare(slot(mid).key, slot(lo).key) < 0) swapSlots(lo, mid);
+            if (order.compare(slot(hi).key, slot(lo).key) < 0) swapSlots(lo, hi);
+            if (order.compare(slot(hi).key, slot(mid).key) < 0) swapSlots(mid, hi);
+            K pivot = slot(mid).key;
+
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (order.compare(slot(i).key, pivot) < 0) i++;
+                while (order.compare(slot(j).key, pivot) > 0) j--;
+                if (i <= j) {
+                    swapSlots(i, j);
+                    i++;
+                    j--;
+                }
+            }
+
+            // Now [lo, j] <= pivot <= [i, hi]
+            if (k <= j)
+                hi = j;
+            else if (k >= i)
+                lo = i;
+            else
+                return;
+        }
+    }
+
+
+    /**
+     * Removes and returns the entry with minimal or maximal key, depending on the heap selected.
+     * O(log(n))
+     *
+     * @param thisHeap  the heap to remove an item from
+     * @param otherHeap the other heap
+     * @param order     the ordering this heap uses
+     * @return the removed entry (or null if empty)
+     */
+    private Entry<K, V> removeExtremum(Entry<K, V>[] thisHeap, Entry<K, V>[] otherHeap, Comparator<? super K> order) {
+        if (isEmpty())
+            return null;
+
+        modCount++;
+
+        // Buffer is min -> return buffer
+        if (buffer != null && (tail == -1 || order.compare(buffer.key, thisHeap[0].key) < 0)) {
+            Entry<K, V> ret = buffer;
+            buffer = null;
+            return ret;
+        }
+
+        return removeAt(thisHeap, otherHeap, 0, order);
+    }
+
+
+    /**
+     * Removes the entry at the given position of one heap, taking its associate out of the other heap and either
+     * re-pairing it with the buffer or making it the new buffer.
+     * O(log(n))
+     *
+     * @param thisHeap  the heap to remove an item from
+     * @param otherHeap the other heap
+     * @param location  the position of the entry in thisHeap
+     * @param order     the ordering thisHeap uses
+     * @return the removed entry
+     */
+    private Entry<K, V> removeAt(Entry<K, V>[] thisHeap, Entry<K, V>[] otherHeap, int location, Comparator<? super K> order) {
+        Entry<K, V> ret = thisHeap[location];
+        Entry<K, V> associate = ret.associate;
+
+        ret.associate = null;
+        associate.associate = null;
+
+        if (buffer == null) {
+            // Remove element from thisHeap
+            if (location != tail) {
+                thisHeap[location] = thisHeap[tail];
+                thisHeap[location].index = location;
+            }
+            thisHeap[tail] = null;
+
+            // Remove associated element from otherHeap.
+            buffer = associate;
+            int i = buffer.index;
+            buffer.index = 0;
+
+            if (i == tail) {
+                otherHeap[tail] = null;
+                tail--;
+            }
+            else {
+                // Associate was in the middle somewhere; swap the tail element into its place then fix the heap ordering.
+                otherHeap[i] = otherHeap[tail];
+                otherHeap[i].index = i;
+                otherHeap[tail] = null;
+                tail--;
+                upDownHeap(otherHeap, i, opposite(order));
+            }
+
+            // Now that the tail pointer is decremented we can fix thisHeap ordering
+            if (location <= tail) {
+                upDownHeap(thisHeap, location, order);
+            }
+        }
+        else {
+            // Form a new pair
+            buffer.associate = associate;
+            associate.associate = buffer;
+
+            // If buffer belongs in thisHeap -> replace the removed entry in thisHeap
+            if (order.compare(buffer.key, associate.key) < 0) {
+                thisHeap[location] = buffer;
+                buffer.index = location;
+                upDownHeap(thisHeap, location, order);
+            }
+
+            // If buffer belongs in otherHeap -> move the associate to thisHeap and put buffer in its place in otherHeap
+            else {
+                otherHeap[associate.index] = buffer;
+                thisHeap[location] = associate;
+                buffer.index = associate.index;
+                associate.index = location;
+
+                // Now fix heap ordering
+                upDownHeap(thisHeap, location, order);
+                upDownHeap(otherHeap, buffer.index, opposite(order));
+            }
+
+            buffer = null;
+        }
+
+        if (shrinkable)
+            maybeShrink();
+
+        return ret;
+    }
+
+
+    /**
+     * Removes an arbitrary entry from the priority queue.
+     * O(log(n))
+     *
+     * @param entry an entry of this queue
+     * @throws IllegalArgumentException if the entry is not in this queue
+     */
+    public void remove(Entry<K, V> entry) throws IllegalArgumentException {
+        Entry<K, V>[] heap = validate(entry);
+        modCount++;
+
+        if (heap == null)
+            buffer = null;
+        else if (heap == minHeap)
+            removeAt(minHeap, maxHeap, entry.index, minOrder);
+        else
+            removeAt(maxHeap, minHeap, entry.index, maxOrder);
+    }
+
+
+    /**
+     * Replaces the key of an entry, swapping it with its associate if the pair is now out of order.
+     * O(log(n))
+     *
+     * @param entry an entry of this queue
+     * @param key   the new key
+     * @throws IllegalArgumentException if the entry is not in this queue
+     */
+    public void replaceKey(Entry<K, V> entry, K key) throws IllegalArgumentException {
+        Entry<K, V>[] heap = validate(entry);
+        modCount++;
+        entry.key = key;
+
+        // The buffer is not ordered against anything
+        if (heap == null)
+            return;
+
+        Comparator<? super K> order = heap == minHeap ? minOrder : maxOrder;
+        Entry<K, V>[] otherHeap = heap == minHeap ? maxHeap : minHeap;
+        Entry<K, V> associate = entry.associate;
+        int location = entry.index;
+
+        if (order.compare(key, associate.key) > 0) {
+            // Entry now belongs in the other heap; trade places with its associate
+            heap[location] = associate;
+            otherHeap[associate.index] = entry;
+            entry.index = associate.index;
+            associate.index = location;
+
+            upDownHeap(heap, location, order);
+            upDownHeap(otherHeap, entry.index, opposite(order));
+        }
+        else {
+            upDownHeap(heap, location, order);
+        }
+    }
+
+
+    /**
+     * Replaces the value of an entry.
+     * O(1)
+     *
+     * @param entry an entry of this queue
+     * @param value the new value
+     * @throws IllegalArgumentException if the entry is not in this queue
+     */
+    public void replaceValue(Entry<K, V> entry, V value) throws IllegalArgumentException {
+        validate(entry);
+        entry.value = value;
+    }
+
+
+    /**
+     * Finds the heap holding an entry.
+     * O(1)
+     *
+     * @param entry an entry
+     * @return minHeap or maxHeap, or null if the entry is the buffer
+     * @throws IllegalArgumentException if the entry is not in this queue
+     */
+    private Entry<K, V>[] validate(Entry<K, V> entry) throws IllegalArgumentException {
+        if (entry == null)
+            throw new IllegalArgumentException("Invalid entry");
+        if (entry == buffer)
+            return null;
+
+        int i = entry.index;
+        if (i >= 0 && i <= tail) {
+            if (minHeap[i] == entry)
+                return minHeap;
+            if (maxHeap[i] == entry)
+                return maxHeap;
+        }
+        throw new IllegalArgumentException("Invalid entry");
+    }
+
+
+    /**
+     * Halves both heaps if they have fallen to a quarter full and are larger than the initial capacity.
+     * Amortized O(1)
+     */
+    private void maybeShrink() {
+        int length = minHeap.length;
+        if (length > initialCapacity && (tail + 1) * SHRINK_THRESHOLD <= length)
+            resize(Math.max(initialCapacity, length / GROWTH_FACTOR));
+    }
+
+
+    /**
+     * Reallocates both heaps with the given capacity. Entries keep their positions, so their index and associate
+     * links remain valid.
+     * O(n)
+     *
+     * @param capacity the new capacity of each heap, at least tail + 1
+     */
+    private void resize(int capacity) {
+        minHeap = Arrays.copyOf(minHeap, capacity);
+        maxHeap = Arrays.copyOf(maxHeap, capacity);
+    }
+
+
+    /**
+     * Returns the number of entries each heap can hold before it must grow (or, if bounded, overflow).
+     * The total capacity including the buffer is 2 * capacity() + 1.
+     * O(1)
+     *
+     * @return the capacity of each heap
+     */
+    public int capacity() {
+        return minHeap.length;
+    }
+
+
+    /**
+     * Returns an iterator over the entries in increasing key order, without modifying the queue.
+     * Entries are found lazily by a best-first walk, so taking the first k costs O(k log(k)).
+     *
+     * @return a lazy iterator from the minimal entry upwards
+     * @throws java.util.ConcurrentModificationException from the iterator if the queue is modified
+     */
+    public Iterator<Entry<K, V>> ascendingIterator() {
+        return new SortedIterator(minHeap, minOrder);
+    }
+
+
+    /**
+     * Returns an iterator over the entries in decreasing key order, without modifying the queue.
+     * Taking the first k costs O(k log(k)).
+     *
+     * @return a lazy iterator from the maximal entry downwards
+     * @throws java.util.ConcurrentModificationException from the iterator if the queue is modified
+     */
+    public Iterator<Entry<K, V>> descendingIterator() {
+        return new SortedIterator(maxHeap, maxOrder);
+    }
+
+
+    /**
+     * Returns up to k entries with minimal keys in increasing order, without modifying the queue.
+     * O(k log(k))
+     *
+     * @param k the maximum number of entries to return
+     * @return the k smallest entries
+     */
+    public List<Entry<K, V>> smallest(int k) {
+        return first(ascendingIterator(), k);
+    }
+
+
+    /**
+     * Returns up to k entries with maximal keys in decreasing order, without modifying the queue.
+     * O(k log(k))
+     *
+     * @param k the maximum number of entries to return
+     * @return the k largest entries
+     */
+    public List<Entry<K, V>> largest(int k) {
+        return first(descendingIterator(), k);
+    }
+
+
+    private List<Entry<K, V>> first(Iterator<Entry<K, V>> iterator, int k) {
+        if (k < 0)
+            throw new IllegalArgumentException("Negative count: " + k);
+
+        List<Entry<K, V>> list = new ArrayList<>(Math.min(k, size()));
+        for (int i = 0; i < k && iterator.hasNext(); i++) {
+            list.add(iterator.next());
+        }
+        return list;
+    }
+
+
+    /**
+     * Best-first walk over one heap. The frontier starts with that heap's root and the buffer. Taking an entry of the
+     * walked heap adds its children and its associate to the frontier, and since each of these comes after it in the
+     * walk's order every entry is reached no later than its turn.
+     */
+    private class SortedIterator implements Iterator<Entry<K, V>> {
+        private final Entry<K, V>[] heap;
+        private final HeapPriorityQueue<K, Entry<K, V>> frontier;
+        private final int expectedModCount = modCount;
+
+        SortedIterator(Entry<K, V>[] heap, Comparator<? super K> order) {
+            this.heap = heap;
+            // Ordered so removeMin always takes the next entry of the walk
+            frontier = new HeapPriorityQueue<K, Entry<K, V>>(16, true, false, order);
+            if (tail >= 0)
+                frontier.insert(heap[0].key, heap[0]);
+            if (buffer != null)
+                frontier.insert(buffer.key, buffer);
+        }
+
+        public boolean hasNext() {
+            return !frontier.isEmpty();
+        }
+
+        public Entry<K, V> next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (frontier.isEmpty())
+                throw new NoSuchElementException();
+
+            Entry<K, V> e = frontier.removeMin().value;
+            int location = e.index;
+            if (e != buffer && heap[location] == e) {
+                int first = location * arity + 1;
+                int last = Math.min(first + arity - 1, tail);
+                for (int child = first; child <= last; child++) {
+                    frontier.insert(heap[child].key, heap[child]);
+                }
+                frontier.insert(e.associate.key, e.associate);
+            }
+            return e;
+        }
+    }
+
+
+    /****************************************************
+     *
+     *           Methods for Heap Operations
+     *
+     ****************************************************/
+
+    /**
+     * Algorithm to fix element position after placement in an arbitrary position
+     * in the list. O(log(n))
+     */
+    private void upDownHeap(Entry<K, V>[] heap, int location, Comparator<? super K> order) {
+        if (location > 0 && order.compare(heap[parent(location)].key, heap[location].key) > 0)
+            upHeap(heap, location, order);
+        else
+            downHeap(heap, location, order);
+    }
+
+    /**
+     * Algorithm to place element after insertion at the tail.
+     * Parents are shifted down into the hole left by the element, which is written once at its final position.
+     * O(log(n))
+     */
+    private void upHeap(Entry<K, V>[] heap, int location, Comparator<? super K> order) {
+        Entry<K, V> e = heap[location];
+        K key = e.key;
+
+        while (location > 0) {
+            int parent = parent(location);
+            Entry<K, V> p = heap[parent];
+            if (order.compare(p.key, key) <= 0)
+                break;
+
+            heap[location] = p;
+            p.index = location;
+            location = parent;
+        }
+
+        heap[location] = e;
+        e.index = location;
+    } /* upHeap */
+
+
+    /**
+     * Algorithm to place element after removal of root and tail element placed at root.
+     * The smallest child is shifted up into the hole left by the element, which is written once at its final
+     * position. On ties the later child is taken.
+     * O(arity * log(n) / log(arity))
+     */
+    private void downHeap(Entry<K, V>[] heap, int location, Comparator<? super K> order) {
+        Entry<K, V> e = heap[location];
+        K key = e.key;
+        int last = tail;
+
+        int first;
+        while ((first = (location * arity) + 1) <= last) {
+            int child = first;
+            Entry<K, V> c = heap[first];
+            int end = Math.min(first + arity - 1, last);
+            for (int sibling = first + 1; sibling <= end; sibling++) {
+                Entry<K, V> s = heap[sibling];
+                if (order.compare(c.key, s.key) >= 0) {
+                    c = s;
+                    child = sibling;
+                }
+            }
+            if (order.compare(key, c.key) <= 0)
+                break;
+
+            heap[location] = c;
+            c.index = location;
+            location = child;
+        }
+
+        heap[location] = e;
+        e.index = location;
+    } /* downHeap */
+
+
+    /**
+     * Floyd's bottom-up heap construction over positions 0..tail.
+     * O(n)
+     */
+    private void heapify(Entry<K, V>[] heap, Comparator<? super K> order) {
+        if (tail < 0)
+            return;
+        for (int i = parent(tail); i >= 0; i--) {
+            downHeap(heap, i, order);
+        }
+    }
+
+
+    /**
+     * Returns the ordering of the other heap.
+     * O(1)
+     */
+    private Comparator<? super K> opposite(Comparator<? super K> order) {
+        return order == minOrder ? maxOrder : minOrder;
+    }
+
+
+    /**
+     * Find parent of a given location,
+     * Parent of the root is the root
+     * O(1)
+     */
+    private int parent(int location) {
+        return (location - 1) / arity;
+    } /* parent */
+
+
+    public void print() {
+        if (buffer != null) {
+            System.out.println("\nBUFFER:");
+            System.out.print(buffer);
+        }
+
+        System.out.println("\nMIN HEAP");
+        prettyPrint(minHeap, 0, 0);
+        System.out.println();
+
+        System.out.println("\nMAX HEAP");
+        prettyPrint(maxHeap, 0, 0);
+        System.out.println();
+    }
+
+    private void prettyPrint(Entry<K, V>[] heap, int location, int tabs) {
+        if (tail < location) return;
+        for (int i = 0; i < tabs; i++) {
+            System.out.print("  ");
+        }
+        System.out.println(heap[location]);
+        for (int child = arity * location + 1; child <= arity * location + arity; child++) {
+            prettyPrint(heap, child, tabs + 1);
+        }
+    }
+}
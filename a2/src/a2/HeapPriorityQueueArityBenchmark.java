@@ -0,0 +1,67 @@
+package a2;
+
+import java.util.Comparator;
+import java.util.Random;
+
+/**
+ * Compares heap arities for queues of different sizes. Each queue is filled with n random keys, then timed over a
+ * steady-state mix of inserts and removals from both ends so its size stays at n.
+ * <p>
+ * The 10^7 case needs a large heap, e.g. -Xmx4g.
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class HeapPriorityQueueArityBenchmark {
+    private static final int[] ARITIES = {2, 4, 8};
+    private static final int OPERATIONS = 1_000_000;
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) {
+        String[] sizes = args.length > 0 ? args : new String[]{"10000", "1000000", "10000000"};
+
+        System.out.println("ns per insert + remove pair:");
+        System.out.printf("%-10s", "size");
+        for (int arity : ARITIES) {
+            System.out.printf("%10s", arity + "-ary");
+        }
+        System.out.println();
+
+        for (String size : sizes) {
+            int n = Integer.parseInt(size);
+            System.out.printf("%-10d", n);
+            for (int arity : ARITIES) {
+                System.out.printf("%10.1f", run(n, arity));
+            }
+            System.out.println();
+        }
+    }
+
+    private static double run(int n, int arity) {
+        Random rng = new Random(12345);
+        HeapPriorityQueue<Integer, Integer> pq =
+                new HeapPriorityQueue<>(n + 1, false, false, Comparator.naturalOrder(), arity);
+        for (int i = 0; i < n; i++) {
+            pq.insert(rng.nextInt(), i);
+        }
+
+        // The first round warms up the JIT
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round <= ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < OPERATIONS; i++) {
+                pq.insert(rng.nextInt(), i);
+                if ((i & 1) == 0)
+                    pq.removeMin();
+                else
+                    pq.removeMax();
+            }
+            long time = System.nanoTime() - start;
+            if (round > 0)
+                best = Math.min(best, time);
+        }
+
+        if (pq.size() != n)
+            throw new IllegalStateException();
+        return (double) best / OPERATIONS;
+    }
+}
@@ -1,3 +1,5 @@
+package a2;
+
 import java.util.*;
 
 /**
@@ -0,0 +1,141 @@
+package a2;
+
+import java.util.Collection;
+
+/**
+ * Interface for the priority queue ADT.
+ *
+ * @author Michael T. Goodrich
+ * @author Roberto Tamassia
+ * @author Michael H. Goldwasser
+ */
+public interface PriorityQueue<K extends Comparable<? super K>, V> {
+
+    /**
+     * Returns the number of items in the priority queue.
+     *
+     * @return number of items
+     */
+    int size();
+
+    /**
+     * Tests whether the priority queue is empty.
+     *
+     * @return true if the priority queue is empty, false otherwise
+     */
+    boolean isEmpty();
+
+    /**
+     * Inserts a key-value pair and returns the entry created.
+     *
+     * @param key   the key of the new entry
+     * @param value the associated value of the new entry
+     * @return the entry storing the new key-value pair
+     * @throws IllegalArgumentException if the key is unacceptable for this queue
+     */
+    Entry<K, V> insert(K key, V value) throws IllegalArgumentException;
+
+    /**
+     * Returns (but does not remove) an entry with minimal key.
+     *
+     * @return entry having a minimal key (or null if empty)
+     */
+    Entry<K, V> min();
+
+    /**
+     * Removes and returns an entry with minimal key.
+     *
+     * @return the removed entry (or null if empty)
+     */
+    Entry<K, V> removeMin();
+
+    /**
+     * Returns (but does not remove) an entry with maximal key.
+     *
+     * @return entry having a minimal key (or null if empty)
+     */
+    Entry<K, V> max();
+
+    /**
+     * Removes and returns an entry with maximal key.
+     *
+     * @return the removed entry (or null if empty)
+     */
+    Entry<K, V> removeMax();
+
+    /**
+     * Removes up to k entries with minimal keys and adds them to out in increasing order.
+     *
+     * @param k   the maximum number of entries to remove
+     * @param out the collection to add the removed entries to
+     * @return the number of entries removed
+     */
+    default int removeMin(int k, Collection<? super Entry<K, V>> out) {
+        if (k < 0)
+            throw new IllegalArgumentException("Negative count: " + k);
+
+        int removed = 0;
+        Entry<K, V> e;
+        while (removed < k && (e = removeMin()) != null) {
+            out.add(e);
+            removed++;
+        }
+        return removed;
+    }
+
+    /**
+     * Removes up to k entries with maximal keys and adds them to out in decreasing order.
+     *
+     * @param k   the maximum number of entries to remove
+     * @param out the collection to add the removed entries to
+     * @return the number of entries removed
+     */
+    default int removeMax(int k, Collection<? super Entry<K, V>> out) {
+        if (k < 0)
+            throw new IllegalArgumentException("Negative count: " + k);
+
+        int removed = 0;
+        Entry<K, V> e;
+        while (removed < k && (e = removeMax()) != null) {
+            out.add(e);
+            removed++;
+        }
+        return removed;
+    }
+
+    /**
+     * Removes all entries and adds them to out in no particular order.
+     *
+     * @param out the collection to add the removed entries to
+     * @return the number of entries removed
+     */
+    default int drainTo(Collection<? super Entry<K, V>> out) {
+        return removeMin(Integer.MAX_VALUE, out);
+    }
+
+    /**
+     * Removes an entry from the priority queue.
+     *
+     * @param entry an entry of this queue
+     * @throws IllegalArgumentException if the entry is not in this queue
+     */
+    void remove(Entry<K, V> entry) throws IllegalArgumentException;
+
+    /**
+     * Replaces the key of an entry.
+     *
+     * @param entry an entry of this queue
+     * @param key   the new key
+     * @throws IllegalArgumentException if the entry is not in this queue
+     */
+    void replaceKey(Entry<K, V> entry, K key) throws IllegalArgumentException;
+
+    /**
+     * Replaces the value of an entry.
+     *
+     * @param entry an entry of this queue
+     * @param value the new value
+     * @throws IllegalArgumentException if the entry is not in this queue
+     */
+    void replaceValue(Entry<K, V> entry, V value) throws IllegalArgumentException;
+}
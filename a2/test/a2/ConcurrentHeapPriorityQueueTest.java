@@ -0,0 +1,181 @@
+package a2;
+
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs the HeapPriorityQueueTest suite through the flat combining front end, then checks properties of concurrent
+ * histories that any linearizable double-ended priority queue must have.
+ *
+ * @Author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class ConcurrentHeapPriorityQueueTest extends HeapPriorityQueueTest {
+    private static final int THREADS = 8;
+
+    @Override
+    protected PriorityQueue<Integer, Integer> createQueue(int size) {
+        return new ConcurrentHeapPriorityQueue<>(new HeapPriorityQueue<Integer, Integer>(size));
+    }
+
+    @Test
+    public void concurrentInsert__noLostEntries() throws Exception {
+        runThreads(t -> {
+            for (int i = t; i < BASE_SIZE; i += THREADS) {
+                pq.insert(i, t);
+            }
+        });
+
+        assertEquals(BASE_SIZE, pq.size());
+        for (int i = 0; i < BASE_SIZE; i++) {
+            assertEquals(i, pq.removeMin().key.intValue());
+        }
+    }
+
+    @Test
+    public void concurrentRemove__eachThreadSeesMonotonicKeys() throws Exception {
+        for (int i = 0; i < BASE_SIZE; i++) {
+            pq.insert(i, i);
+        }
+
+        // Half the threads drain from each end. In any linearization each thread's removeMin keys increase and its
+        // removeMax keys decrease, and every removeMin key is below every removeMax key.
+        List<List<Integer>> removed = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            removed.add(new ArrayList<>());
+        }
+        runThreads(t -> {
+            Entry<Integer, Integer> e;
+            while ((e = (t % 2 == 0) ? pq.removeMin() : pq.removeMax()) != null) {
+                removed.get(t).add(e.key);
+            }
+        });
+
+        int maxOfMins = Integer.MIN_VALUE, minOfMaxes = Integer.MAX_VALUE;
+        Set<Integer> seen = new HashSet<>();
+        for (int t = 0; t < THREADS; t++) {
+            List<Integer> keys = removed.get(t);
+            for (int i = 1; i < keys.size(); i++) {
+                if (t % 2 == 0)
+                    assertTrue(keys.get(i - 1) < keys.get(i));
+                else
+                    assertTrue(keys.get(i - 1) > keys.get(i));
+            }
+            for (int key : keys) {
+                assertTrue(seen.add(key));
+                if (t % 2 == 0)
+                    maxOfMins = Math.max(maxOfMins, key);
+                else
+                    minOfMaxes = Math.min(minOfMaxes, key);
+            }
+        }
+        assertEquals(BASE_SIZE, seen.size());
+        assertTrue(maxOfMins < minOfMaxes);
+        assertTrue(pq.isEmpty());
+    }
+
+    @Test
+    public void concurrentMixed__removedExactlyOnce() throws Exception {
+        // Every thread inserts its own disjoint keys, and removes from either end, cancels its own entries or
+        // reprioritizes them. At the end every key must have been removed exactly once or still be in the queue.
+        ConcurrentMap<Integer, Boolean> removed = new ConcurrentHashMap<>();
+        int perThread = BASE_SIZE / THREADS;
+
+        runThreads(t -> {
+            Random random = new Random(t);
+            List<Entry<Integer, Integer>> mine = new ArrayList<>();
+            for (int i = 0; i < perThread; i++) {
+                mine.add(pq.insert(t * perThread + i, t));
+
+                Entry<Integer, Integer> e = null;
+                switch (random.nextInt(4)) {
+                    case 0:
+                        e = pq.removeMin();
+                        break;
+                    case 1:
+                        e = pq.removeMax();
+                        break;
+                    case 2:
+                        // Our entry may already have been removed by another thread
+                        Entry<Integer, Integer> cancel = mine.remove(random.nextInt(mine.size()));
+                        try {
+                            pq.remove(cancel);
+                            e = cancel;
+                        }
+                        catch (IllegalArgumentException alreadyRemoved) {
+                            // fine
+                        }
+                        break;
+                    default:
+                        break;
+                }
+                if (e != null)
+                    assertNull(removed.put(e.key, true));
+            }
+        });
+
+        while (!pq.isEmpty()) {
+            Entry<Integer, Integer> e = pq.removeMax();
+            assertNull(removed.put(e.key, true));
+        }
+        assertEquals(perThread * THREADS, removed.size());
+    }
+
+    @Test
+    public void concurrentInsert__errorInQueue__rethrownInCallingThread() throws Exception {
+        // Whichever thread combines a failing insert, the Error must reach the thread that published it rather than
+        // leaving that thread waiting on a request that never completes.
+        pq = new ConcurrentHeapPriorityQueue<>(new HeapPriorityQueue<Integer, Integer>(BASE_SIZE) {
+            @Override
+            public Entry<Integer, Integer> insert(Integer key, Integer value) {
+                if (key % 2 != 0)
+                    throw new AssertionError(key);
+                return super.insert(key, value);
+            }
+        });
+        int[] errors = new int[THREADS];
+        runThreads(t -> {
+            for (int i = t; i < BASE_SIZE; i += THREADS) {
+                try {
+                    pq.insert(i, t);
+                }
+                catch (AssertionError e) {
+                    assertEquals(i, e.getMessage() == null ? -1 : Integer.parseInt(e.getMessage()));
+                    errors[t]++;
+                }
+            }
+        });
+
+        assertEquals(BASE_SIZE / 2, Arrays.stream(errors).sum());
+        assertEquals(BASE_SIZE - BASE_SIZE / 2, pq.size());
+    }
+
+    private void runThreads(ThreadBody body) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(pool.submit(() -> {
+                start.await();
+                body.run(thread);
+                return null;
+            }));
+        }
+        try {
+            for (Future<?> f : futures) {
+                f.get(60, TimeUnit.SECONDS);
+            }
+        }
+        finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private interface ThreadBody {
+        void run(int thread) throws Exception;
+    }
+}
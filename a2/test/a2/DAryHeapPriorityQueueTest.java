@@ -0,0 +1,45 @@
+package a2;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs the HeapPriorityQueueTest suite against 4-ary heaps.
+ *
+ * @Author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class DAryHeapPriorityQueueTest extends HeapPriorityQueueTest {
+    @Override
+    protected PriorityQueue<Integer, Integer> createQueue(int size) {
+        return new HeapPriorityQueue<>(size, false, false, Comparator.naturalOrder(), 4);
+    }
+
+    @Test
+    public void removeMin__removeMax__otherArities() {
+        Random rng = new Random(12345);
+        for (int arity = 2; arity <= 9; arity++) {
+            pq = new HeapPriorityQueue<>(1, true, false, Comparator.naturalOrder(), arity);
+            List<Integer> keys = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                int key = rng.nextInt(100);
+                keys.add(key);
+                pq.insert(key, i);
+            }
+            Collections.sort(keys);
+
+            while (!pq.isEmpty()) {
+                assertEquals(keys.remove(0), pq.removeMin().getKey());
+                if (!pq.isEmpty())
+                    assertEquals(keys.remove(keys.size() - 1), pq.removeMax().getKey());
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor__arityTooSmall() {
+        new HeapPriorityQueue<Integer, Integer>(10, false, false, Comparator.naturalOrder(), 1);
+    }
+}
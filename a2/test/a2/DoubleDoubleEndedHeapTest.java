@@ -0,0 +1,52 @@
+package a2;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * @Author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class DoubleDoubleEndedHeapTest {
+    public static final int BASE_SIZE = 100000;
+
+    private static Random rng = new Random(12345);
+
+    private DoubleDoubleEndedHeap heap;
+
+    @Before
+    public void setUp() throws Exception {
+        heap = new DoubleDoubleEndedHeap(BASE_SIZE);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void insert__NaN() {
+        heap.insert(Double.NaN, 0);
+    }
+
+    @Test
+    public void removeMin__removeMax__matchesSortedOrder() {
+        double[] keys = new double[BASE_SIZE];
+        for (int i = 0; i < BASE_SIZE; i++) {
+            keys[i] = rng.nextGaussian();
+            heap.insert(keys[i], i);
+        }
+        Arrays.sort(keys);
+
+        int lo = 0, hi = BASE_SIZE - 1;
+        while (!heap.isEmpty()) {
+            if (rng.nextBoolean()) {
+                assertEquals(keys[lo++], heap.min(), 0);
+                heap.removeMin();
+            }
+            else {
+                assertEquals(keys[hi--], heap.max(), 0);
+                heap.removeMax();
+            }
+        }
+        assertEquals(lo, hi + 1);
+    }
+}
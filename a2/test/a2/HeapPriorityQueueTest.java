@@ -0,0 +1,652 @@
+package a2;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * @Author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class HeapPriorityQueueTest {
+    public static final int BASE_SIZE = 100000;
+
+    private static final int[] testArray = new int[BASE_SIZE];
+    private static final int[] testArrayAsc;
+    private static final int[] testArrayDesc;
+    private static Random rng = new Random(12345);
+
+
+    static {
+        for (int i = 0; i < BASE_SIZE; i++) {
+            testArray[i] = rng.nextInt(10000);
+        }
+
+        testArrayAsc = Arrays.copyOf(testArray, BASE_SIZE);
+        Arrays.sort(testArrayAsc);
+        testArrayDesc = new int[BASE_SIZE];
+        for (int i = 0; i < BASE_SIZE; i++) {
+            testArrayDesc[i] = testArrayAsc[BASE_SIZE - i - 1];
+        }
+    }
+
+    protected PriorityQueue<Integer, Integer> pq;
+
+    @Before
+    public void setUp() throws Exception {
+        pq = createQueue(BASE_SIZE);
+    }
+
+    /**
+     * Creates the bounded queue under test, so subclasses can run these tests against other implementations.
+     */
+    protected PriorityQueue<Integer, Integer> createQueue(int size) {
+        return new HeapPriorityQueue<>(size);
+    }
+
+    @Test
+    public void constructor__oddSize() {
+        pq = createQueue(3);
+        for (int i = 0; i < 3; i++) {
+            pq.insert(i, i);
+        }
+    }
+
+    @Test
+    public void size__removeMin() {
+        for (int i = 0; i < BASE_SIZE; i++) {
+            assertEquals(i, pq.size());
+            pq.insert(i, i);
+            assertEquals(i + 1, pq.size());
+        }
+
+        for (int i = BASE_SIZE; i > 0; i--) {
+            assertEquals(i, pq.size());
+            pq.removeMin();
+            assertEquals(i - 1, pq.size());
+        }
+    }
+
+    @Test
+    public void size__removeMax() {
+        for (int i = 0; i < BASE_SIZE; i++) {
+            assertEquals(i, pq.size());
+            pq.insert(i, i);
+            assertEquals(i + 1, pq.size());
+        }
+
+        for (int i = BASE_SIZE; i > 0; i--) {
+            assertEquals(i, pq.size());
+            pq.removeMax();
+            assertEquals(i - 1, pq.size());
+        }
+    }
+
+    @Test
+    public void isEmpty__removeMin() {
+        assertTrue(pq.isEmpty());
+        for (int i = 0; i < BASE_SIZE; i++) {
+            pq.insert(i, i);
+            assertFalse(pq.isEmpty());
+        }
+
+        for (int i = BASE_SIZE; i > 0; i--) {
+            assertFalse(pq.isEmpty());
+            pq.removeMin();
+        }
+        assertTrue(pq.isEmpty());
+    }
+
+    @Test
+    public void isEmpty__removeMax() {
+        assertTrue(pq.isEmpty());
+        for (int i = 0; i < BASE_SIZE; i++) {
+            pq.insert(i, i);
+            assertFalse(pq.isEmpty());
+        }
+
+        for (int i = BASE_SIZE; i > 0; i--) {
+            assertFalse(pq.isEmpty());
+            pq.removeMax();
+        }
+        assertTrue(pq.isEmpty());
+    }
+
+    @Test
+    public void insert__reverse__removeMin() {
+        for (int i = BASE_SIZE - 1; i > -1; i--) {
+            pq.insert(i, i);
+        }
+
+        for (int i = 0; i < BASE_SIZE; i++) {
+            assertEquals(i, (int) pq.removeMin().getKey());
+        }
+    }
+
+    @Test
+    public void insert__reverse__removeMax() {
+        for (int i = 0; i < BASE_SIZE; i++) {
+            pq.insert(i, i);
+        }
+
+        for (int i = BASE_SIZE - 1; i > 0; i--) {
+            assertEquals(i, (int) pq.removeMax().getKey());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void insert__IllegalArgumentException() {
+        pq = createQueue(2);
+        for (int i = 0; i < 4; i++) {
+            pq.insert(i, i);
+        }
+    }
+
+    @Test
+    public void insert__unbounded() {
+        pq = new HeapPriorityQueue<>(2, true, false);
+        for (int i = 0; i < BASE_SIZE; i++) {
+            pq.insert(testArray[i], testArray[i]);
+        }
+
+        assertEquals(BASE_SIZE, pq.size());
+        for (int i = 0; i < BASE_SIZE / 2; i++) {
+            assertEquals(testArrayAsc[i], pq.removeMin().key.intValue());
+            assertEquals(testArrayDesc[i], pq.removeMax().key.intValue());
+        }
+        assertTrue(pq.isEmpty());
+    }
+
+    @Test
+    public void insert__unbounded__shrink() {
+        HeapPriorityQueue<Integer, Integer> hpq = new HeapPriorityQueue<>(4, true, true);
+        List<Entry<Integer, Integer>> entries = new ArrayList<>();
+        for (int i = 0; i < BASE_SIZE; i++) {
+            entries.add(hpq.insert(testArray[i], testArray[i]));
+        }
+        int grownCapacity = hpq.capacity();
+        assertTrue(grownCapacity >= BASE_SIZE / 2);
+
+        for (int i = 0; i < BASE_SIZE - 10; i++) {
+            assertEquals(testArrayAsc[i], hpq.removeMin().key.intValue());
+        }
+        assertTrue(hpq.capacity() < grownCapacity);
+        assertTrue(hpq.capacity() >= 2);
+
+        // Links must survive the copies
+        for (int i = BASE_SIZE - 10; i < BASE_SIZE; i++) {
+            Entry<Integer, Integer> e = hpq.removeMin();
+            assertEquals(testArrayAsc[i], e.key.intValue());
+        }
+        assertTrue(hpq.isEmpty());
+        assertEquals(2, hpq.capacity());
+    }
+
+    @Test
+    public void of__removeMin__removeMax() {
+        List<Entry<Integer, Integer>> entries = new ArrayList<>();
+        for (int i = 0; i < BASE_SIZE - 1; i++) {
+            entries.add(new Entry<>(testArray[i], i));
+        }
+        pq = HeapPriorityQueue.of(entries);
+        assertEquals(BASE_SIZE - 1, pq.size());
+
+        pq.insert(testArray[BASE_SIZE - 1], BASE_SIZE - 1);
+        for (int i = 0; i < BASE_SIZE / 2; i++) {
+            assertEquals(testArrayAsc[i], pq.removeMin().key.intValue());
+            assertEquals(testArrayDesc[i], pq.removeMax().key.intValue());
+        }
+        assertTrue(pq.isEmpty());
+    }
+
+    @Test
+    public void addAll__existingEntries() {
+        HeapPriorityQueue<Integer, Integer> hpq = new HeapPriorityQueue<>(BASE_SIZE);
+        List<Entry<Integer, Integer>> entries = new ArrayList<>();
+        for (int i = 0; i < BASE_SIZE; i++) {
+            if (i < 101) {
+                hpq.insert(testArray[i], i);
+            }
+            else {
+                entries.add(new Entry<>(testArray[i], i));
+            }
+            // Small batches take the sift-up path
+            if (i == 200) {
+                List<Entry<Integer, Integer>> batch = entries.subList(0, 3);
+                hpq.addAll(batch);
+                batch.clear();
+            }
+        }
+        hpq.addAll(entries);
+        assertEquals(BASE_SIZE, hpq.size());
+
+        for (int i = 0; i < BASE_SIZE; i++) {
+            assertEquals(testArrayAsc[i], hpq.min().key.intValue());
+            assertEquals(testArrayAsc[i], hpq.removeMin().key.intValue());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addAll__IllegalArgumentException() {
+        HeapPriorityQueue<Integer, Integer> hpq = new HeapPriorityQueue<>(5);
+        hpq.insert(0, 0);
+        try {
+            hpq.addAll(Arrays.asList(new Entry<>(1, 1), new Entry<>(2, 2), new Entry<>(3, 3), new Entry<>(4, 4)));
+        }
+        catch (IllegalArgumentException e) {
+            fail("5 entries should fit");
+        }
+        hpq.addAll(Collections.singletonList(new Entry<>(5, 5)));
+    }
+
+    @Test
+    public void remove__replaceKey__randomized() {
+        // Distinct keys so the queue and the TreeMap agree on order
+        TreeMap<Integer, Entry<Integer, Integer>> expected = new TreeMap<>();
+        List<Entry<Integer, Integer>> live = new ArrayList<>();
+        Set<Integer> used = new HashSet<>();
+
+        for (int step = 0; step < BASE_SIZE; step++) {
+            int op = rng.nextInt(5);
+            if (op < 2 || live.isEmpty()) {
+                int key = freshKey(used);
+                Entry<Integer, Integer> e = pq.insert(key, step);
+                expected.put(key, e);
+                live.add(e);
+            }
+            else if (op == 2) {
+                Entry<Integer, Integer> e = live.remove(rng.nextInt(live.size()));
+                pq.remove(e);
+                assertSame(e, expected.remove(e.getKey()));
+            }
+            else if (op == 3) {
+                Entry<Integer, Integer> e = live.get(rng.nextInt(live.size()));
+                int key = freshKey(used);
+                expected.remove(e.getKey());
+                pq.replaceKey(e, key);
+                expected.put(key, e);
+            }
+            else {
+                Entry<Integer, Integer> e = rng.nextBoolean() ? pq.removeMin() : pq.removeMax();
+                assertSame(e, e.getKey().equals(expected.firstKey()) ? expected.pollFirstEntry().getValue()
+                        : expected.pollLastEntry().getValue());
+                live.remove(e);
+            }
+            assertEquals(expected.size(), pq.size());
+        }
+
+        while (!pq.isEmpty()) {
+            assertSame(expected.pollFirstEntry().getValue(), pq.removeMin());
+        }
+    }
+
+    private static int freshKey(Set<Integer> used) {
+        int key;
+        do {
+            key = rng.nextInt();
+        } while (!used.add(key));
+        return key;
+    }
+
+    @Test
+    public void replaceValue() {
+        Entry<Integer, Integer> e = pq.insert(1, 1);
+        pq.insert(2, 2);
+        pq.replaceValue(e, 5);
+        assertEquals(5, (int) pq.removeMin().getValue());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void remove__IllegalArgumentException() {
+        Entry<Integer, Integer> e = pq.insert(1, 1);
+        pq.insert(2, 2);
+        pq.insert(3, 3);
+        pq.remove(e);
+        pq.remove(e);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void replaceKey__foreignEntry() {
+        pq.insert(1, 1);
+        pq.insert(2, 2);
+        pq.replaceKey(new Entry<>(1, 1), 3);
+    }
+
+    @Test
+    public void constructor__comparator() {
+        pq = new HeapPriorityQueue<>(BASE_SIZE, false, false, Comparator.reverseOrder());
+        for (int i = 0; i < BASE_SIZE; i++) {
+            pq.insert(testArray[i], testArray[i]);
+        }
+
+        for (int i = 0; i < BASE_SIZE / 2; i++) {
+            assertEquals(testArrayDesc[i], pq.removeMin().key.intValue());
+            assertEquals(testArrayAsc[i], pq.removeMax().key.intValue());
+        }
+    }
+
+    @Test
+    public void removeMin__removeMax__batch() {
+        for (int i = 0; i < BASE_SIZE; i++) {
+            pq.insert(testArray[i], testArray[i]);
+        }
+
+        // Batch sizes on both sides of the select-and-rebuild threshold
+        List<Entry<Integer, Integer>> out = new ArrayList<>();
+        int lo = 0, hi = 0;
+        for (int k : new int[]{1, 10, 100, 20000, 5, 29000}) {
+            out.clear();
+            assertEquals(k, pq.removeMin(k, out));
+            for (int i = 0; i < k; i++) {
+                assertEquals(testArrayAsc[lo++], out.get(i).key.intValue());
+            }
+
+            out.clear();
+            assertEquals(k, pq.removeMax(k, out));
+            for (int i = 0; i < k; i++) {
+                assertEquals(testArrayDesc[hi++], out.get(i).key.intValue());
+            }
+            assertEquals(BASE_SIZE - lo - hi, pq.size());
+        }
+
+        // The queue must still work normally afterwards
+        Entry<Integer, Integer> e = pq.insert(-1, -1);
+        assertSame(e, pq.min());
+        pq.remove(e);
+
+        out.clear();
+        assertEquals(BASE_SIZE - lo - hi, pq.removeMin(BASE_SIZE, out));
+        for (Entry<Integer, Integer> entry : out) {
+            assertEquals(testArrayAsc[lo++], entry.key.intValue());
+        }
+        assertTrue(pq.isEmpty());
+        assertEquals(0, pq.removeMax(10, out));
+    }
+
+    @Test
+    public void removeMin__removeMax__batch__shrinkable() {
+        // Small batches remove one entry at a time, and each removal may shrink the heaps under the batch
+        for (int arity = 2; arity <= 5; arity++) {
+            HeapPriorityQueue<Integer, Integer> hpq = new HeapPriorityQueue<>(2, true, true, Comparator.naturalOrder(), arity);
+            for (int key : new int[]{14, 12, 10, 1, 7, 11}) {
+                hpq.insert(key, key);
+            }
+            List<Entry<Integer, Integer>> out = new ArrayList<>();
+            assertEquals(4, hpq.removeMax(4, out));
+            assertEquals(Arrays.asList(14, 12, 11, 10), keys(out));
+            assertEquals(7, hpq.max().key.intValue());
+            assertEquals(1, hpq.min().key.intValue());
+            assertEquals(2, hpq.size());
+        }
+
+        Random rng = new Random(12345);
+        for (int arity = 2; arity <= 5; arity++) {
+            HeapPriorityQueue<Integer, Integer> hpq = new HeapPriorityQueue<>(2, true, true, Comparator.naturalOrder(), arity);
+            List<Integer> keys = new ArrayList<>();
+            for (int round = 0; round < 200; round++) {
+                int inserts = rng.nextInt(40);
+                for (int i = 0; i < inserts; i++) {
+                    int key = rng.nextInt(1000);
+                    keys.add(key);
+                    hpq.insert(key, key);
+                }
+                Collections.sort(keys);
+
+                List<Entry<Integer, Integer>> out = new ArrayList<>();
+                int k = rng.nextInt(keys.size() + 1);
+                boolean min = rng.nextBoolean();
+                assertEquals(k, min ? hpq.removeMin(k, out) : hpq.removeMax(k, out));
+                List<Integer> expected = new ArrayList<>();
+                for (int i = 0; i < k; i++) {
+                    expected.add(min ? keys.remove(0) : keys.remove(keys.size() - 1));
+                }
+                assertEquals(expected, keys(out));
+                assertEquals(keys.size(), hpq.size());
+                if (!keys.isEmpty()) {
+                    assertEquals(keys.get(0), hpq.min().key);
+                    assertEquals(keys.get(keys.size() - 1), hpq.max().key);
+                }
+            }
+        }
+    }
+
+    private static List<Integer> keys(List<Entry<Integer, Integer>> entries) {
+        List<Integer> keys = new ArrayList<>();
+        for (Entry<Integer, Integer> e : entries) {
+            keys.add(e.key);
+        }
+        return keys;
+    }
+
+    @Test
+    public void drainTo() {
+        List<Entry<Integer, Integer>> inserted = new ArrayList<>();
+        for (int i = 0; i < BASE_SIZE - 1; i++) {
+            inserted.add(pq.insert(testArray[i], i));
+        }
+
+        List<Entry<Integer, Integer>> out = new ArrayList<>();
+        assertEquals(BASE_SIZE - 1, pq.drainTo(out));
+        assertTrue(pq.isEmpty());
+        assertNull(pq.min());
+        assertEquals(new HashSet<>(inserted), new HashSet<>(out));
+
+        pq.insert(1, 1);
+        assertEquals(1, pq.size());
+    }
+
+    @Test
+    public void ascendingIterator__descendingIterator() {
+        HeapPriorityQueue<Integer, Integer> hpq = new HeapPriorityQueue<>(BASE_SIZE);
+        for (int i = 0; i < BASE_SIZE - 1; i++) {
+            hpq.insert(testArray[i], testArray[i]);
+        }
+        int[] keys = Arrays.copyOf(testArray, BASE_SIZE - 1);
+        Arrays.sort(keys);
+
+        Iterator<Entry<Integer, Integer>> ascending = hpq.ascendingIterator();
+        Iterator<Entry<Integer, Integer>> descending = hpq.descendingIterator();
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(keys[i], ascending.next().key.intValue());
+            assertEquals(keys[keys.length - 1 - i], descending.next().key.intValue());
+        }
+        assertFalse(ascending.hasNext());
+        assertFalse(descending.hasNext());
+
+        // Unchanged by the walk
+        assertEquals(BASE_SIZE - 1, hpq.size());
+        assertEquals(keys[0], hpq.removeMin().key.intValue());
+    }
+
+    @Test
+    public void smallest__largest() {
+        HeapPriorityQueue<Integer, Integer> hpq = new HeapPriorityQueue<>(BASE_SIZE);
+        for (int i = 0; i < BASE_SIZE; i++) {
+            hpq.insert(testArray[i], testArray[i]);
+        }
+
+        List<Entry<Integer, Integer>> smallest = hpq.smallest(100);
+        List<Entry<Integer, Integer>> largest = hpq.largest(100);
+        assertEquals(100, smallest.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(testArrayAsc[i], smallest.get(i).key.intValue());
+            assertEquals(testArrayDesc[i], largest.get(i).key.intValue());
+        }
+        assertEquals(BASE_SIZE, hpq.size());
+
+        hpq = new HeapPriorityQueue<>(4);
+        hpq.insert(2, 2);
+        assertEquals(1, hpq.largest(10).size());
+        assertTrue(new HeapPriorityQueue<Integer, Integer>().smallest(10).isEmpty());
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void ascendingIterator__ConcurrentModificationException() {
+        HeapPriorityQueue<Integer, Integer> hpq = new HeapPriorityQueue<>(BASE_SIZE);
+        for (int i = 0; i < 10; i++) {
+            hpq.insert(i, i);
+        }
+        Iterator<Entry<Integer, Integer>> iterator = hpq.ascendingIterator();
+        iterator.next();
+        hpq.removeMax();
+        iterator.next();
+    }
+
+    @Test
+    public void meld() {
+        // Sizes on both sides of the heapify threshold, with and without buffers
+        for (int otherSize : new int[]{0, 1, 7, 1000, BASE_SIZE / 2 + 1}) {
+            HeapPriorityQueue<Integer, Integer> hpq = new HeapPriorityQueue<>(2, true, false);
+            HeapPriorityQueue<Integer, Integer> other = HeapPriorityQueue.unbounded();
+            List<Entry<Integer, Integer>> otherEntries = new ArrayList<>();
+            for (int i = 0; i < BASE_SIZE / 2 - 1; i++) {
+                hpq.insert(testArray[i], i);
+            }
+            for (int i = 0; i < otherSize; i++) {
+                otherEntries.add(other.insert(testArray[BASE_SIZE - 1 - i], i));
+            }
+
+            hpq.meld(other);
+            assertTrue(other.isEmpty());
+            assertNull(other.removeMin());
+            assertEquals(BASE_SIZE / 2 - 1 + otherSize, hpq.size());
+
+            // Handles from the other queue now belong to this one
+            for (Entry<Integer, Integer> e : otherEntries) {
+                hpq.remove(e);
+            }
+            for (int i = 0; i < BASE_SIZE / 2 - 1; i++) {
+                Entry<Integer, Integer> e = hpq.removeMin();
+                assertTrue(e.value < BASE_SIZE / 2 - 1);
+                if (!hpq.isEmpty())
+                    assertTrue(e.key <= hpq.min().key);
+            }
+            assertTrue(hpq.isEmpty());
+        }
+    }
+
+    @Test
+    public void meld__differentOrder() {
+        HeapPriorityQueue<Integer, Integer> hpq = new HeapPriorityQueue<>(BASE_SIZE);
+        HeapPriorityQueue<Integer, Integer> other =
+                new HeapPriorityQueue<>(BASE_SIZE, false, false, Comparator.reverseOrder());
+        for (int i = 0; i < BASE_SIZE; i++) {
+            (i % 2 == 0 ? hpq : other).insert(testArray[i], i);
+        }
+
+        hpq.meld(other);
+        assertTrue(other.isEmpty());
+        for (int i = 0; i < BASE_SIZE; i++) {
+            assertEquals(testArrayAsc[i], hpq.removeMin().key.intValue());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void meld__IllegalArgumentException() {
+        HeapPriorityQueue<Integer, Integer> hpq = new HeapPriorityQueue<>(4);
+        HeapPriorityQueue<Integer, Integer> other = new HeapPriorityQueue<>(4);
+        for (int i = 0; i < 3; i++) {
+            hpq.insert(i, i);
+            other.insert(i, i);
+        }
+        hpq.meld(other);
+    }
+
+    @Test
+    public void min__removeMin() {
+        for (int i = 0; i < BASE_SIZE; i++) {
+            pq.insert(testArray[i], testArray[i]);
+        }
+
+        for (int i = 0; i < BASE_SIZE; i++) {
+            assertEquals(testArrayAsc[i], pq.min().key.intValue());
+            assertEquals(testArrayAsc[i], pq.removeMin().key.intValue());
+        }
+
+        assertNull(pq.min());
+        assertNull(pq.removeMin());
+    }
+
+    @Test
+    public void max__removeMax() {
+        for (int i = 0; i < BASE_SIZE; i++) {
+            pq.insert(testArray[i], testArray[i]);
+        }
+
+        for (int i = 0; i < BASE_SIZE; i++) {
+            assertEquals(testArrayDesc[i], pq.max().key.intValue());
+            assertEquals(testArrayDesc[i], pq.removeMax().key.intValue());
+        }
+
+        assertNull(pq.max());
+        assertNull(pq.removeMax());
+    }
+
+    @Test
+    public void print() {
+        HeapPriorityQueue<Integer, Integer> hpq = new HeapPriorityQueue<>(BASE_SIZE);
+        for (int i = 0; i < 4; i++) {
+            hpq.print();
+            hpq.insert(i, i);
+        }
+    }
+
+    @Test
+    // This test ensures the heap is rebuilt correctly after removing an element from the middle.
+    public void testRemoveFromBothEnds() {
+        List<Integer> seen = new ArrayList<>();
+        List<Entry<Integer, Integer>> elementsList = new ArrayList<>();
+        Deque<Entry<Integer, Integer>> dq;
+        int min = Integer.MIN_VALUE, max = Integer.MAX_VALUE;
+        int chunkSize = BASE_SIZE / 4;
+
+        // Need to guarantee non-equality of keys for this test since we need the pq
+        // to return values in the same order as the sorted Deque.
+        for (int i = 0; i < BASE_SIZE; i++) {
+            int randInt = i * BASE_SIZE / 10 + rng.nextInt(BASE_SIZE / 100);
+            elementsList.add(pq.insert(randInt, randInt));
+        }
+
+        elementsList.sort(Comparator.comparingInt(Entry::getKey));
+        dq = new ArrayDeque<>(elementsList);
+
+        for (int i = 0; i < chunkSize; i++) {
+            Entry<Integer, Integer> e = pq.removeMin();
+            seen.add(e.key);
+            assertEquals(seen.size(), BASE_SIZE - pq.size());
+            assertTrue(e.key > min);
+            assertEquals(dq.pollFirst(), e);
+            min = e.key;
+        }
+
+        for (int i = 0; i < chunkSize; i++) {
+            Entry<Integer, Integer> e = pq.removeMax();
+            seen.add(e.key);
+            assertEquals(seen.size(), BASE_SIZE - pq.size());
+            assertTrue(e.key <= max);
+            assertEquals(dq.pollLast(), e);
+            max = e.key;
+        }
+
+
+        for (int i = 0; i < chunkSize; i++) {
+            Entry<Integer, Integer> e = pq.removeMin();
+            seen.add(e.key);
+            assertEquals(seen.size(), BASE_SIZE - pq.size());
+            assertTrue(e.key >= min);
+            assertEquals(dq.pollFirst(), e);
+            min = e.key;
+        }
+
+        while (!pq.isEmpty()) {
+            Entry<Integer, Integer> e = pq.removeMax();
+            seen.add(e.key);
+            assertEquals(seen.size(), BASE_SIZE - pq.size());
+            assertTrue(e.key <= max);
+            assertEquals(dq.pollLast(), e);
+            max = e.key;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package a2;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * @Author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class LongDoubleEndedHeapTest {
+    public static final int BASE_SIZE = 100000;
+
+    private static Random rng = new Random(12345);
+
+    private LongDoubleEndedHeap heap;
+
+    @Before
+    public void setUp() throws Exception {
+        heap = new LongDoubleEndedHeap(BASE_SIZE);
+    }
+
+    @Test
+    public void size__isEmpty() {
+        assertTrue(heap.isEmpty());
+        for (int i = 0; i < BASE_SIZE; i++) {
+            assertEquals(i, heap.size());
+            heap.insert(i, i);
+        }
+        assertFalse(heap.isEmpty());
+
+        for (int i = BASE_SIZE; i > 0; i--) {
+            assertEquals(i, heap.size());
+            heap.removeMin();
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void insert__IllegalArgumentException() {
+        heap = new LongDoubleEndedHeap(2);
+        for (int i = 0; i < 4; i++) {
+            heap.insert(i, i);
+        }
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void min__empty() {
+        heap.min();
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void removeMax__empty() {
+        heap.removeMax();
+    }
+
+    @Test
+    public void insert__unbounded() {
+        heap = new LongDoubleEndedHeap(0, true);
+        for (int i = 0; i < BASE_SIZE; i++) {
+            heap.insert(BASE_SIZE - i, i);
+        }
+        for (int i = 0; i < BASE_SIZE; i++) {
+            assertEquals(i + 1, heap.min());
+            assertEquals(BASE_SIZE - i - 1, heap.removeMin());
+        }
+    }
+
+    @Test
+    public void removeMin__removeMax__matchesSortedOrder() {
+        long[] keys = new long[BASE_SIZE];
+        for (int i = 0; i < BASE_SIZE; i++) {
+            keys[i] = rng.nextLong();
+            heap.insert(keys[i], i);
+        }
+        Arrays.sort(keys);
+
+        int lo = 0, hi = BASE_SIZE - 1;
+        while (!heap.isEmpty()) {
+            if (rng.nextBoolean()) {
+                assertEquals(keys[lo], heap.min());
+                int id = heap.minId();
+                assertEquals(id, heap.removeMin());
+                lo++;
+            }
+            else {
+                assertEquals(keys[hi], heap.max());
+                int id = heap.maxId();
+                assertEquals(id, heap.removeMax());
+                hi--;
+            }
+        }
+        assertEquals(lo, hi + 1);
+    }
+
+    @Test
+    public void ids__followKeys() {
+        // Compare against HeapPriorityQueue with interleaved inserts and removals from both ends
+        HeapPriorityQueue<Long, Integer> reference = new HeapPriorityQueue<>(BASE_SIZE);
+        long[] keys = new long[BASE_SIZE];
+
+        for (int i = 0; i < BASE_SIZE; i++) {
+            keys[i] = rng.nextInt(BASE_SIZE * 10) * (long) BASE_SIZE + i;  // distinct keys
+            heap.insert(keys[i], i);
+            reference.insert(keys[i], i);
+
+            if (i % 3 == 2) {
+                assertEquals(reference.removeMin().value.intValue(), heap.removeMin());
+                assertEquals(reference.removeMax().value.intValue(), heap.removeMax());
+            }
+        }
+
+        while (!reference.isEmpty()) {
+            int id = heap.minId();
+            assertEquals(keys[id], heap.min());
+            assertEquals(reference.removeMin().value.intValue(), heap.removeMin());
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void clear() {
+        for (int i = 0; i < 10; i++) {
+            heap.insert(i, i);
+        }
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        heap.insert(5, 1);
+        assertEquals(5, heap.max());
+    }
+}
@@ -0,0 +1,505 @@
+package csi2510_project;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * A graph's adjacency lists in a compact binary file, for graphs whose edges do not fit in memory. Only the node ids
+ * are held in memory; the edges are streamed from disk every time they are visited.
+ *
+ * The file is written from an edge list in bounded memory: edges are collected in chunks, each chunk is sorted and
+ * spilled to a temporary run, and the runs are merged, dropping duplicate edges, into the final file. At most
+ * MAX_MERGE_RUNS runs are merged at once, each read through an equal share of MERGE_BUFFER_BYTES, so with more runs
+ * than that they are first merged in passes into fewer, longer runs:
+ *
+ *   header    int magic, int nodeCount, long edgeCount, long idsOffset
+ *   records   for each node with out-edges, in dense index order: int node, int degree, int[degree] targets
+ *   ids       int[nodeCount], the node id of each dense index
+ *
+ * Dense indices are assigned in the order nodes are first seen, as in CSI2510.readGraph.
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class AdjacencyFile {
+    public static final int DEFAULT_CHUNK_EDGES = 1 << 22;    // 32 MB of sorted edges per run
+    public static final int MAX_MERGE_RUNS = 64;              // runs open at once while merging
+    public static final int MERGE_BUFFER_BYTES = 1 << 24;     // read buffers shared by the runs being merged
+    private static final int MAGIC = 0x41444a31;              // "ADJ1"
+    private static final int HEADER_BYTES = 24;
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    /**
+     * Receives the out-edges of one node. The targets array is reused between calls.
+     */
+    public interface AdjacencyVisitor {
+        void adjacency(int node, int[] targets, int degree);
+    }
+
+    private final Path path;
+    private final int[] ids;
+    private final long edgeCount;
+    private final long idsOffset;
+    private ByteBuffer readBuffer;    // reused by every forEachAdjacency, allocated on the first
+
+    private AdjacencyFile(Path path, int[] ids, long edgeCount, long idsOffset) {
+        this.path = path;
+        this.ids = ids;
+        this.edgeCount = edgeCount;
+        this.idsOffset = idsOffset;
+    }
+
+    /****************************************************************************************************************
+     * Writing
+     ****************************************************************************************************************/
+
+    /**
+     * Converts an edge list file, skipping its header line.
+     *
+     * O(E log(chunkEdges)) time, O(V + chunkEdges) memory plus MERGE_BUFFER_BYTES while merging
+     *
+     * @param edgeList the edge list file
+     * @param output   the adjacency file to write
+     * @return the written file
+     * @throws IOException if a file cannot be read or written, or the edge list is malformed
+     */
+    public static AdjacencyFile write(Path edgeList, Path output) throws IOException {
+        Writer writer = new Writer(output, DEFAULT_CHUNK_EDGES);
+        new EdgeListReader().read(edgeList, writer);
+        return writer.finish();
+    }
+
+    /**
+     * Converts an edge list stream, skipping its header line. The stream is not closed.
+     *
+     * O(E log(chunkEdges)) time, O(V + chunkEdges) memory plus MERGE_BUFFER_BYTES while merging
+     *
+     * @param edgeList   the edge list
+     * @param output     the adjacency file to write
+     * @param chunkEdges the number of edges to sort in memory at a time
+     * @return the written file
+     * @throws IOException if the stream cannot be read or the file written, or the edge list is malformed
+     */
+    public static AdjacencyFile write(InputStream edgeList, Path output, int chunkEdges) throws IOException {
+        Writer writer = new Writer(output, chunkEdges);
+        new EdgeListReader().read(edgeList, writer);
+        return writer.finish();
+    }
+
+    /**
+     * Collects edges in chunks, spilling each to a sorted run.
+     */
+    private static class Writer implements EdgeListReader.EdgeVisitor {
+        private final Path output;
+        private final NodeIndex index = new NodeIndex();
+        private final long[] chunk;
+        private final List<Path> runs = new ArrayList<>();            // runs still to merge
+        private final List<Path> temporaries = new ArrayList<>();     // every run created, deleted when done
+        private int chunkSize;
+        private IOException failure;
+
+        Writer(Path output, int chunkEdges) {
+            if (chunkEdges < 1) {
+                throw new IllegalArgumentException("Chunk size must be positive: " + chunkEdges);
+            }
+            this.output = output;
+            this.chunk = new long[chunkEdges];
+        }
+
+        public void edge(int from, int to, long timestamp) {
+            if (failure != null) {
+                return;
+            }
+            // Dense indices are non-negative, so the keys sort by source then target
+            chunk[chunkSize++] = (long) index.add(from) << 32 | index.add(to);
+            if (chunkSize == chunk.length) {
+                try {
+                    spill();
+                }
+                catch (IOException e) {
+                    failure = e;
+                }
+            }
+        }
+
+        private void spill() throws IOException {
+            Arrays.sort(chunk, 0, chunkSize);
+            Path run = createRun();
+            runs.add(run);
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(run), BUFFER_BYTES))) {
+                long previous = -1;
+                for (int i = 0; i < chunkSize; i++) {
+                    if (chunk[i] != previous) {
+                        out.writeLong(chunk[i]);
+                        previous = chunk[i];
+                    }
+                }
+            }
+            chunkSize = 0;
+        }
+
+        AdjacencyFile finish() throws IOException {
+            try {
+                if (failure != null) {
+                    throw failure;
+                }
+                if (chunkSize > 0) {
+                    spill();
+                }
+                while (runs.size() > MAX_MERGE_RUNS) {
+                    mergePass();
+                }
+                return merge();
+            }
+            finally {
+                for (Path run : temporaries) {
+                    Files.deleteIfExists(run);
+                }
+            }
+        }
+
+        private Path createRun() throws IOException {
+            Path run = Files.createTempFile(output.toAbsolutePath().getParent(), "adjacency", ".run");
+            temporaries.add(run);
+            return run;
+        }
+
+        /**
+         * Merges each MAX_MERGE_RUNS consecutive runs into one longer run, deleting the runs merged.
+         */
+        private void mergePass() throws IOException {
+            List<Path> merged = new ArrayList<>((runs.size() + MAX_MERGE_RUNS - 1) / MAX_MERGE_RUNS);
+            for (int start = 0; start < runs.size(); start += MAX_MERGE_RUNS) {
+                List<Path> group = runs.subList(start, Math.min(start + MAX_MERGE_RUNS, runs.size()));
+                Path run = createRun();
+                merged.add(run);
+                try (RunMerger in = new RunMerger(group);
+                     DataOutputStream out = new DataOutputStream(
+                             new BufferedOutputStream(Files.newOutputStream(run), BUFFER_BYTES))) {
+                    while (in.advance()) {
+                        out.writeLong(in.head);
+                    }
+                }
+                for (Path merging : group) {
+                    Files.deleteIfExists(merging);
+                }
+            }
+            runs.clear();
+            runs.addAll(merged);
+        }
+
+        /**
+         * Merges the runs into the output, grouping each source's targets into one record.
+         */
+        private AdjacencyFile merge() throws IOException {
+            long edgeCount = 0;
+            long position = HEADER_BYTES;
+            try (RunMerger in = new RunMerger(runs);
+                 DataOutputStream out = new DataOutputStream(
+                         new BufferedOutputStream(Files.newOutputStream(output), BUFFER_BYTES))) {
+                out.writeInt(MAGIC);
+                out.writeInt(0);
+                out.writeLong(0);
+                out.writeLong(0);
+
+                int source = -1;
+                int[] targets = new int[16];
+                int degree = 0;
+                while (in.advance()) {
+                    long edge = in.head;
+                    int from = (int) (edge >>> 32);
+                    if (from != source) {
+                        position += writeRecord(out, source, targets, degree);
+                        source = from;
+                        degree = 0;
+                    }
+                    if (degree == targets.length) {
+                        targets = Arrays.copyOf(targets, degree * 2);
+                    }
+                    targets[degree++] = (int) edge;
+                    edgeCount++;
+                }
+                position += writeRecord(out, source, targets, degree);
+
+                for (int i = 0; i < index.size(); i++) {
+                    out.writeInt(index.id(i));
+                }
+            }
+
+            // Patch the header now that the counts are known
+            try (FileChannel channel = FileChannel.open(output, StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                header.putInt(MAGIC).putInt(index.size()).putLong(edgeCount).putLong(position).flip();
+                channel.write(header, 0);
+            }
+            return new AdjacencyFile(output, Arrays.copyOf(index.ids(), index.size()), edgeCount, position);
+        }
+
+        private static long writeRecord(DataOutputStream out, int source, int[] targets, int degree)
+                throws IOException {
+            if (degree == 0) {
+                return 0;
+            }
+            out.writeInt(source);
+            out.writeInt(degree);
+            for (int i = 0; i < degree; i++) {
+                out.writeInt(targets[i]);
+            }
+            return 8 + 4L * degree;
+        }
+    }
+
+    /**
+     * Merges sorted runs into one sorted sequence of distinct edges, reading each run through an equal share of
+     * MERGE_BUFFER_BYTES.
+     */
+    private static class RunMerger implements Closeable {
+        private final PriorityQueue<RunReader> heads = new PriorityQueue<>((a, b) -> Long.compare(a.head, b.head));
+        private final List<RunReader> readers = new ArrayList<>();
+        private long head = -1;
+
+        RunMerger(List<Path> runs) throws IOException {
+            int bufferBytes = Math.max(MERGE_BUFFER_BYTES / Math.max(runs.size(), 1), 8) & ~7;
+            try {
+                for (Path run : runs) {
+                    RunReader reader = new RunReader(run, bufferBytes);
+                    readers.add(reader);
+                    if (reader.advance()) {
+                        heads.add(reader);
+                    }
+                }
+            }
+            catch (IOException e) {
+                close();
+                throw e;
+            }
+        }
+
+        /**
+         * Moves to the next distinct edge.
+         *
+         * @return whether there was one; if so it is in head
+         */
+        boolean advance() throws IOException {
+            while (!heads.isEmpty()) {
+                RunReader reader = heads.poll();
+                long edge = reader.head;
+                if (reader.advance()) {
+                    heads.add(reader);
+                }
+                if (edge != head) {    // the same edge may have been spilled in more than one run
+                    head = edge;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public void close() throws IOException {
+            IOException failure = null;
+            for (RunReader reader : readers) {
+                try {
+                    reader.close();
+                }
+                catch (IOException e) {
+                    failure = e;
+                }
+            }
+            readers.clear();
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * Reads the edges of a sorted run in order.
+     */
+    private static class RunReader implements Closeable {
+        private final IntReader in;
+        private long head;
+
+        RunReader(Path run, int bufferBytes) throws IOException {
+            in = new IntReader(FileChannel.open(run, StandardOpenOption.READ), 0, bufferBytes);
+        }
+
+        boolean advance() throws IOException {
+            if (!in.hasRemaining()) {
+                return false;
+            }
+            head = (long) in.nextInt() << 32 | (in.nextInt() & 0xffffffffL);
+            return true;
+        }
+
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /****************************************************************************************************************
+     * Reading
+     ****************************************************************************************************************/
+
+    /**
+     * Opens an adjacency file, reading its header and node ids.
+     *
+     * O(V)
+     *
+     * @param path the adjacency file
+     * @return the file
+     * @throws IOException if the file cannot be read or is not an adjacency file
+     */
+    public static AdjacencyFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+                throw new IOException("Not an adjacency file: " + path);
+            }
+            int nodeCount = header.getInt();
+            long edgeCount = header.getLong();
+            long idsOffset = header.getLong();
+
+            int[] ids = new int[nodeCount];
+            try (IntReader in = new IntReader(channel, idsOffset)) {
+                for (int i = 0; i < nodeCount; i++) {
+                    ids[i] = in.nextInt();
+                }
+            }
+            return new AdjacencyFile(path, ids, edgeCount, idsOffset);
+        }
+    }
+
+    /**
+     * Streams every node's out-edges from disk, in dense index order. Nodes without out-edges are skipped.
+     * Every call reads through the same buffer, so iterative callers do not allocate a new one per pass; calls on
+     * one file are therefore serialized.
+     *
+     * O(E) time, O(max degree) memory
+     *
+     * @param visitor receives each node's out-edges
+     * @throws IOException if the file cannot be read
+     */
+    public synchronized void forEachAdjacency(AdjacencyVisitor visitor) throws IOException {
+        if (readBuffer == null) {
+            readBuffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        }
+        int[] targets = new int[16];
+        try (IntReader in = new IntReader(FileChannel.open(path, StandardOpenOption.READ), HEADER_BYTES,
+                readBuffer)) {
+            long position = HEADER_BYTES;
+            while (position < idsOffset) {
+                int node = in.nextInt();
+                int degree = in.nextInt();
+                if (degree > targets.length) {
+                    targets = new int[Math.max(degree, targets.length * 2)];
+                }
+                for (int i = 0; i < degree; i++) {
+                    targets[i] = in.nextInt();
+                }
+                visitor.adjacency(node, targets, degree);
+                position += 8 + 4L * degree;
+            }
+        }
+    }
+
+    /**
+     * Returns the file.
+     */
+    public Path path() {
+        return path;
+    }
+
+    /**
+     * Returns the number of nodes.
+     */
+    public int nodeCount() {
+        return ids.length;
+    }
+
+    /**
+     * Returns the number of distinct edges.
+     */
+    public long edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Returns the node id of a dense index.
+     *
+     * @param node a dense node index
+     */
+    public int nodeId(int node) {
+        return ids[node];
+    }
+
+    /**
+     * Reads big-endian ints from a channel through a buffer.
+     */
+    private static class IntReader implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private long position;
+
+        IntReader(FileChannel channel, long position) {
+            this(channel, position, BUFFER_BYTES);
+        }
+
+        IntReader(FileChannel channel, long position, int bufferBytes) {
+            this(channel, position, ByteBuffer.allocateDirect(bufferBytes));
+        }
+
+        /**
+         * @param buffer the buffer to read through, whose contents are discarded
+         */
+        IntReader(FileChannel channel, long position, ByteBuffer buffer) {
+            this.channel = channel;
+            this.position = position;
+            this.buffer = buffer;
+            buffer.clear().limit(0);
+        }
+
+        boolean hasRemaining() throws IOException {
+            return buffer.remaining() >= 4 || fill();
+        }
+
+        int nextInt() throws IOException {
+            if (buffer.remaining() < 4 && !fill()) {
+                throw new IOException("Unexpected end of adjacency file");
+            }
+            return buffer.getInt();
+        }
+
+        private boolean fill() throws IOException {
+            buffer.compact();
+            int read;
+            while (buffer.position() < 4 && (read = channel.read(buffer, position)) > 0) {
+                position += read;
+            }
+            if (buffer.hasRemaining() && (read = channel.read(buffer, position)) > 0) {
+                position += read;
+            }
+            buffer.flip();
+            return buffer.remaining() >= 4;
+        }
+
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
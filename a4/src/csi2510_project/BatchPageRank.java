@@ -0,0 +1,295 @@
+package csi2510_project;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Loads and ranks many graphs at once, as a service ranking thousands of small per-tenant graphs would. Graphs are
+ * read on an I/O pool and each is ranked as soon as it is loaded on a ranking pool shared by every batch, one graph
+ * per task, so small graphs never pay for splitting a single ranking across threads.
+ *
+ * Every ranking thread keeps one PageRankWorkspace for its lifetime, so once it has ranked its largest graph it
+ * allocates nothing but each result. Java 17 has no virtual threads, so reads block platform threads of a cached
+ * pool, which grows only as far as the reads in flight.
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class BatchPageRank implements AutoCloseable {
+
+    /**
+     * Loads one graph of a batch.
+     */
+    private interface Loader {
+        CsrGraph load() throws IOException;
+    }
+
+    /**
+     * The ranks of one graph of a batch.
+     */
+    public static class Ranking {
+        private final CsrGraph graph;
+        private final double[] rank;
+        private final int iterations;
+        private final double meanChange;
+
+        Ranking(CsrGraph graph, double[] rank, int iterations, double meanChange) {
+            this.graph = graph;
+            this.rank = rank;
+            this.iterations = iterations;
+            this.meanChange = meanChange;
+        }
+
+        /**
+         * Returns the graph that was ranked.
+         */
+        public CsrGraph graph() {
+            return graph;
+        }
+
+        /**
+         * Returns the PR of each node, by dense index of graph().
+         */
+        public double[] rank() {
+            return rank;
+        }
+
+        /**
+         * Returns the number of iterations the ranking ran.
+         */
+        public int iterations() {
+            return iterations;
+        }
+
+        /**
+         * Returns the mean change in PR in the last iteration.
+         */
+        public double meanChange() {
+            return meanChange;
+        }
+    }
+
+    private final double tolerance;    // tolerance to stop
+    private final long maxIter;        // max iterations to stop
+    private final ExecutorService rankPool;
+    private final ExecutorService ioPool;
+    private final boolean ownsPools;
+    private final ThreadLocal<PageRankWorkspace> workspaces = ThreadLocal.withInitial(PageRankWorkspace::new);
+    private long graphs;               // graphs in the last batch
+    private long nodes;
+    private long edges;
+    private long elapsedNanos;
+
+    BatchPageRank() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    BatchPageRank(int threads) {
+        this(0.000001, 100, Executors.newFixedThreadPool(threads), Executors.newCachedThreadPool(), true);
+    }
+
+    /**
+     * @param rankPool the pool to rank on, which may be shared and is not shut down by close()
+     * @param ioPool   the pool to read files on, which may be shared and is not shut down by close()
+     */
+    BatchPageRank(double tolerance, long maxIter, ExecutorService rankPool, ExecutorService ioPool) {
+        this(tolerance, maxIter, rankPool, ioPool, false);
+    }
+
+    private BatchPageRank(double tolerance, long maxIter, ExecutorService rankPool, ExecutorService ioPool,
+                          boolean ownsPools) {
+        this.tolerance = tolerance;
+        this.maxIter = maxIter;
+        this.rankPool = rankPool;
+        this.ioPool = ioPool;
+        this.ownsPools = ownsPools;
+    }
+
+    /**
+     * Ranks a batch of edge list files, or the sample edge lists if none are given, and prints the throughput.
+     *
+     * @param args the edge list files
+     */
+    public static void main(String[] args) throws IOException {
+        try (BatchPageRank batch = new BatchPageRank()) {
+            List<Ranking> rankings;
+            if (args.length == 0) {
+                rankings = batch.rankResources(List.of("email-dnc.edges", "small_graph.edges", "small_graph_2.edges"));
+            }
+            else {
+                List<Path> files = new ArrayList<>();
+                for (String filename : args) {
+                    files.add(Paths.get(filename));
+                }
+                rankings = batch.rankFiles(files);
+            }
+            for (Ranking ranking : rankings) {
+                System.out.println(ranking.graph().nodeCount() + " nodes, " + ranking.graph().edgeCount() + " edges: " + ranking.iterations() + " iterations");
+            }
+            System.out.println(batch.statistics());
+        }
+    }
+
+    /****************************************************************************************************************
+     * Batches
+     ****************************************************************************************************************/
+
+    /**
+     * Reads and ranks a batch of edge list files, dropping duplicate edges as CSI2510.readGraph does.
+     *
+     * @param files the edge list files
+     * @return the ranking of each file, in the order given
+     * @throws IOException if a file cannot be read or is malformed
+     */
+    public List<Ranking> rankFiles(List<Path> files) throws IOException {
+        List<Loader> loaders = new ArrayList<>(files.size());
+        for (Path file : files) {
+            loaders.add(() -> new EdgeListReader().readGraph(file));
+        }
+        return rankAll(loaders);
+    }
+
+    /**
+     * Reads and ranks a batch of edge lists packaged next to CSI2510.
+     *
+     * @param names the edge list resources
+     * @return the ranking of each resource, in the order given
+     * @throws IOException if a resource is missing, cannot be read or is malformed
+     */
+    public List<Ranking> rankResources(List<String> names) throws IOException {
+        List<Loader> loaders = new ArrayList<>(names.size());
+        for (String name : names) {
+            loaders.add(() -> CsrGraph.of(CSI2510.readGraph(name)));
+        }
+        return rankAll(loaders);
+    }
+
+    /**
+     * Ranks a batch of graphs already in memory.
+     *
+     * @param graphs the graphs
+     * @return the ranking of each graph, in the order given
+     */
+    public List<Ranking> rankGraphs(List<? extends Graph> graphs) {
+        List<Loader> loaders = new ArrayList<>(graphs.size());
+        for (Graph graph : graphs) {
+            loaders.add(() -> CsrGraph.of(graph));
+        }
+        try {
+            return rankAll(loaders);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);    // nothing is read
+        }
+    }
+
+    /**
+     * Loads every graph on the I/O pool and ranks each on the ranking pool as soon as it is loaded, then waits for
+     * the whole batch.
+     */
+    private List<Ranking> rankAll(List<Loader> loaders) throws IOException {
+        long start = System.nanoTime();
+        List<CompletableFuture<Ranking>> futures = new ArrayList<>(loaders.size());
+        for (Loader loader : loaders) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return loader.load();
+                }
+                catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, ioPool).thenApplyAsync(this::rank, rankPool));
+        }
+
+        List<Ranking> rankings = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<Ranking> future : futures) {
+                rankings.add(future.join());
+            }
+        }
+        catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        }
+
+        long nodeCount = 0;
+        long edgeCount = 0;
+        for (Ranking ranking : rankings) {
+            nodeCount += ranking.graph().nodeCount();
+            edgeCount += ranking.graph().edgeCount();
+        }
+        record(rankings.size(), nodeCount, edgeCount, System.nanoTime() - start);
+        return rankings;
+    }
+
+    /**
+     * Ranks one graph in the calling thread's workspace, copying out the result.
+     */
+    private Ranking rank(CsrGraph graph) {
+        PageRank pageRank = new PageRank(tolerance, maxIter);
+        double[] rank = pageRank.computePageRank(graph, workspaces.get());
+        return new Ranking(graph, Arrays.copyOf(rank, graph.nodeCount()), pageRank.getIterations(),
+                pageRank.getMeanChange());
+    }
+
+    /**
+     * Shuts down the pools this batch ranker created.
+     */
+    public void close() {
+        if (ownsPools) {
+            rankPool.shutdown();
+            ioPool.shutdown();
+        }
+    }
+
+    /****************************************************************************************************************
+     * Statistics
+     ****************************************************************************************************************/
+
+    /**
+     * Returns the number of graphs in the last batch.
+     */
+    public synchronized long graphs() {
+        return graphs;
+    }
+
+    /**
+     * Returns the number of edges in the last batch, over every graph.
+     */
+    public synchronized long edges() {
+        return edges;
+    }
+
+    /**
+     * Returns the duration of the last batch in nanoseconds, from the first read to the last ranking.
+     */
+    public synchronized long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the throughput of the last batch.
+     */
+    public synchronized String statistics() {
+        double seconds = Math.max(elapsedNanos, 1) / 1e9;
+        return String.format("Ranked %d graphs (%d nodes, %d edges) in %.1f ms: %.1f graphs/s, %.2f M edges/s",
+                graphs, nodes, edges, seconds * 1e3, graphs / seconds, edges / seconds / 1e6);
+    }
+
+    private synchronized void record(long graphs, long nodes, long edges, long elapsedNanos) {
+        this.graphs = graphs;
+        this.nodes = nodes;
+        this.edges = edges;
+        this.elapsedNanos = elapsedNanos;
+    }
+}
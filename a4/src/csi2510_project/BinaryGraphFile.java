@@ -0,0 +1,213 @@
+package csi2510_project;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A binary graph file holding a CsrGraph as it is laid out in memory, so MappedGraph can map it and use it
+ * without parsing or copying. All values are little-endian and every section starts on an 8 byte boundary:
+ *
+ *   header      int magic, int version, int flags, int nodeCount, long edgeCount, int tableSize, int unused,
+ *               long offset of each of the five sections below (0 for timestamps if absent)
+ *   ids         int[nodeCount], the node id of each dense index
+ *   slots       int[tableSize], the NodeIndex hash table from ids to dense index + 1
+ *   offsets     int[nodeCount + 1]
+ *   targets     int[edgeCount]
+ *   timestamps  long[edgeCount], optional: the earliest timestamp seen for each edge
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class BinaryGraphFile {
+    static final int MAGIC = 0x31525343;    // "CSR1"
+    static final int VERSION = 1;
+    static final int FLAG_TIMESTAMPS = 1;
+    static final int HEADER_BYTES = 72;
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    /**
+     * Converts an edge list file to a binary graph file.
+     *
+     * @param args the edge list file, the binary graph file to write, and optionally "timestamps" to keep them
+     */
+    public static void main(String[] args) throws IOException {
+        long startTime = System.currentTimeMillis();
+        CsrGraph graph = convert(Paths.get(args[0]), Paths.get(args[1]), args.length > 2 && args[2].equals("timestamps"));
+        System.out.println("Wrote " + graph.nodeCount() + " nodes and " + graph.edgeCount() + " edges after " + (System.currentTimeMillis() - startTime) + " ms");
+    }
+
+    /**
+     * Reads an edge list file, dropping duplicate edges as CSI2510.readGraph does, and writes it as a binary graph
+     * file.
+     *
+     * O(V + E) expected
+     *
+     * @param edgeList   the edge list file
+     * @param output     the binary graph file to write
+     * @param timestamps whether to keep the earliest timestamp of each edge
+     * @return the graph that was written
+     * @throws IOException if a file cannot be read or written, or the edge list is malformed
+     */
+    public static CsrGraph convert(Path edgeList, Path output, boolean timestamps) throws IOException {
+        if (!timestamps) {
+            CsrGraph graph = new EdgeListReader().readGraph(edgeList);
+            write(graph, null, output);
+            return graph;
+        }
+
+        // Keep every row so each distinct edge can be given its earliest timestamp
+        RowCollector rows = new RowCollector();
+        new EdgeListReader().read(edgeList, rows);
+        CsrGraph graph = rows.builder.build();
+        write(graph, earliestTimestamps(graph, rows.rows, rows.rowCount), output);
+        return graph;
+    }
+
+    /**
+     * Builds the distinct graph while keeping every (from, to, timestamp) row.
+     */
+    private static class RowCollector implements EdgeListReader.EdgeVisitor {
+        private final CsrGraph.Builder builder = new CsrGraph.Builder(1024, true);
+        private long[] rows = new long[1024];    // pairs of (from << 32 | to, timestamp)
+        private int rowCount;
+
+        public void edge(int from, int to, long timestamp) {
+            builder.addEdge(from, to);
+            if (2 * rowCount + 2 > rows.length) {
+                rows = Arrays.copyOf(rows, rows.length * 2);
+            }
+            rows[2 * rowCount] = (long) from << 32 | (to & 0xffffffffL);
+            rows[2 * rowCount + 1] = timestamp;
+            rowCount++;
+        }
+    }
+
+    /**
+     * Returns the earliest timestamp of each edge of a graph, in the order of its targets.
+     *
+     * O(V + rows)
+     */
+    private static long[] earliestTimestamps(CsrGraph graph, long[] rows, int rowCount) {
+        int nodeCount = graph.nodeCount();
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+
+        // Group the rows by source with a counting sort
+        int[] rowOffsets = new int[nodeCount + 1];
+        int[] rowSources = new int[rowCount];
+        for (int r = 0; r < rowCount; r++) {
+            rowSources[r] = graph.indexOf((int) (rows[2 * r] >>> 32));
+            rowOffsets[rowSources[r] + 1]++;
+        }
+        for (int i = 0; i < nodeCount; i++) {
+            rowOffsets[i + 1] += rowOffsets[i];
+        }
+        int[] next = Arrays.copyOf(rowOffsets, nodeCount);
+        int[] bySource = new int[rowCount];
+        for (int r = 0; r < rowCount; r++) {
+            bySource[next[rowSources[r]]++] = r;
+        }
+
+        long[] timestamps = new long[targets.length];
+        Arrays.fill(timestamps, Long.MAX_VALUE);
+        int[] edgeOf = new int[nodeCount];    // position of u -> v among u's edges, for the current u
+        for (int u = 0; u < nodeCount; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                edgeOf[targets[e]] = e;
+            }
+            for (int i = rowOffsets[u]; i < rowOffsets[u + 1]; i++) {
+                int r = bySource[i];
+                int e = edgeOf[graph.indexOf((int) rows[2 * r])];
+                timestamps[e] = Math.min(timestamps[e], rows[2 * r + 1]);
+            }
+        }
+        for (int e = 0; e < timestamps.length; e++) {
+            if (timestamps[e] == Long.MAX_VALUE) {
+                timestamps[e] = EdgeListReader.NO_TIMESTAMP;
+            }
+        }
+        return timestamps;
+    }
+
+    /**
+     * Writes a graph as a binary graph file.
+     *
+     * O(V + E)
+     *
+     * @param graph      the graph
+     * @param timestamps a timestamp for each edge in the order of graph.targets(), or null
+     * @param output     the binary graph file to write
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if timestamps does not have one entry for each edge
+     */
+    public static void write(CsrGraph graph, long[] timestamps, Path output) throws IOException {
+        int nodeCount = graph.nodeCount();
+        int edgeCount = graph.edgeCount();
+        if (timestamps != null && timestamps.length != edgeCount) {
+            throw new IllegalArgumentException(timestamps.length + " timestamps for " + edgeCount + " edges");
+        }
+        int[] slots = graph.nodeIndex().slots();
+
+        long idsOffset = HEADER_BYTES;
+        long slotsOffset = align(idsOffset + 4L * nodeCount);
+        long offsetsOffset = align(slotsOffset + 4L * slots.length);
+        long targetsOffset = align(offsetsOffset + 4L * (nodeCount + 1));
+        long timestampsOffset = timestamps == null ? 0 : align(targetsOffset + 4L * edgeCount);
+
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(timestamps == null ? 0 : FLAG_TIMESTAMPS).putInt(nodeCount)
+                  .putLong(edgeCount).putInt(slots.length).putInt(0)
+                  .putLong(idsOffset).putLong(slotsOffset).putLong(offsetsOffset).putLong(targetsOffset)
+                  .putLong(timestampsOffset).flip();
+            writeFully(channel, header, 0);
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            writeInts(channel, buffer, graph.nodeIndex().ids(), nodeCount, idsOffset);
+            writeInts(channel, buffer, slots, slots.length, slotsOffset);
+            writeInts(channel, buffer, graph.offsets(), nodeCount + 1, offsetsOffset);
+            writeInts(channel, buffer, graph.targets(), edgeCount, targetsOffset);
+            if (timestamps != null) {
+                long position = timestampsOffset;
+                for (int i = 0; i < edgeCount; ) {
+                    buffer.clear();
+                    int count = Math.min(edgeCount - i, buffer.capacity() / 8);
+                    buffer.asLongBuffer().put(timestamps, i, count);
+                    buffer.limit(count * 8);
+                    writeFully(channel, buffer, position);
+                    position += count * 8L;
+                    i += count;
+                }
+            }
+        }
+    }
+
+    private static void writeInts(FileChannel channel, ByteBuffer buffer, int[] values, int length, long position)
+            throws IOException {
+        for (int i = 0; i < length; ) {
+            buffer.clear();
+            int count = Math.min(length - i, buffer.capacity() / 4);
+            buffer.asIntBuffer().put(values, i, count);
+            buffer.limit(count * 4);
+            writeFully(channel, buffer, position);
+            position += count * 4L;
+            i += count;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    static long align(long offset) {
+        return (offset + 7) & ~7L;
+    }
+}
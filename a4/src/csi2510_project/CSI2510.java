@@ -5,13 +5,10 @@
  */
 package csi2510_project;
 
-import java.io.BufferedReader;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
-import java.net.URL;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 
@@ -46,53 +43,58 @@ public class CSI2510 {
         
     }
     
+    /**
+     * Reads an edge list file from anywhere on disk, dropping duplicate edges.
+     *
+     * O(V + E) expected
+     *
+     * @param edgesPath the edge list file
+     * @return the graph, in CSR form
+     * @throws IOException if the edge list cannot be read or is malformed
+     */
+    public static Graph readGraph(Path edgesPath) throws IOException {
+        return new EdgeListReader().readGraph(edgesPath);
+    }
+    
+    /**
+     * Reads an edge list packaged next to this class, dropping duplicate edges.
+     *
+     * O(V + E) expected
+     *
+     * @param edgesFilename the edge list resource
+     * @return the graph, in CSR form
+     * @throws FileNotFoundException if there is no such resource
+     * @throws IOException if the edge list cannot be read or is malformed
+     */
     public static Graph readGraph(String edgesFilename) throws FileNotFoundException, IOException {
-        System.getProperty("user.dir");
-        URL edgesPath = CSI2510.class.getResource(edgesFilename);
-        BufferedReader csvReader = new BufferedReader(new FileReader(edgesPath.getFile()));
-        String row;
-        List<Integer>               nodes = new ArrayList<Integer>();
-        Map<Integer, List<Integer>> edges = new HashMap<Integer, List<Integer>>(); 
-        
-        boolean first = false;
-        while ((row = csvReader.readLine()) != null) {
-            if (!first) {
-                first = true;
-                continue;
-            }
-            
-            String[] data = row.split(",");
-            
-            Integer u = Integer.parseInt(data[0]);
-            Integer v = Integer.parseInt(data[1]);
-            
-            if (!nodes.contains(u)) {
-                nodes.add(u);
-            }
-            if (!nodes.contains(v)) {
-                nodes.add(v);
-            }
-            
-            if (!edges.containsKey(u)) {
-                // Create a new list of adjacent nodes for the new node u
-                List<Integer> l = new ArrayList<Integer>();
-                l.add(v);
-                edges.put(u, l);
-            } else {
-				// don't add duplicate edge between u and v
-				if (!edges.get(u).contains(v))
-					edges.get(u).add(v);
-            }
+        // Read through the class loader so the edge lists also load from a packaged jar
+        InputStream edgesStream = CSI2510.class.getResourceAsStream(edgesFilename);
+        if (edgesStream == null) {
+            throw new FileNotFoundException(edgesFilename);
         }
-        
-        for (Integer node : nodes) {
-            if (!edges.containsKey(node)) {
-                edges.put(node, new ArrayList<Integer>());
-            }
+        try (InputStream in = edgesStream) {
+            return new EdgeListReader().readGraph(in);
         }
-        
-        csvReader.close();
-        return new Graph(nodes, edges);
     }
-    
+
+    /**
+     * Reads a timestamped edge list packaged next to this class, keeping every row and its timestamp.
+     *
+     * O(V + R log R) for R rows
+     *
+     * @param edgesFilename the edge list resource
+     * @return the rows, sorted by timestamp
+     * @throws FileNotFoundException if there is no such resource
+     * @throws IOException if the edge list cannot be read or is malformed
+     */
+    public static TemporalGraph readTemporalGraph(String edgesFilename) throws FileNotFoundException, IOException {
+        InputStream edgesStream = CSI2510.class.getResourceAsStream(edgesFilename);
+        if (edgesStream == null) {
+            throw new FileNotFoundException(edgesFilename);
+        }
+        try (InputStream in = edgesStream) {
+            return TemporalGraph.read(in);
+        }
+    }
+
 }
@@ -0,0 +1,169 @@
+package csi2510_project;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * A Graph whose node ids are remapped to dense indices 0..nodeCount()-1, with the out-edges of node i stored
+ * contiguously as edges offset(i) .. offset(i + 1) - 1. Subclasses decide where the arrays live.
+ *
+ * getGraphNodes() and getGraphEdges() are lazy read-only views that translate back to node ids, so existing code
+ * keeps working without the graph ever being boxed.
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public abstract class CompactGraph extends Graph {
+
+    CompactGraph() {
+        super(null, null);
+        this.nodes = new NodeList();
+        this.edges = new EdgeMap();
+    }
+
+    /**
+     * Returns the number of nodes.
+     */
+    public abstract int nodeCount();
+
+    /**
+     * Returns the number of edges.
+     */
+    public abstract int edgeCount();
+
+    /**
+     * Returns the number of out-edges of a node.
+     *
+     * @param node a dense node index
+     */
+    public abstract int outDegree(int node);
+
+    /**
+     * Returns the position of a node's first out-edge; offset(nodeCount()) is edgeCount().
+     *
+     * @param node a dense node index, at most nodeCount()
+     */
+    public abstract int offset(int node);
+
+    /**
+     * Returns the dense index of an edge's target.
+     *
+     * @param edge an edge position, less than edgeCount()
+     */
+    public abstract int target(int edge);
+
+    /**
+     * Returns the node id of a dense index.
+     *
+     * @param node a dense node index
+     */
+    public abstract int nodeId(int node);
+
+    /**
+     * Returns the dense index of a node id, or -1 if the node is not in the graph.
+     *
+     * O(1) expected
+     *
+     * @param id a node id
+     */
+    public abstract int indexOf(int id);
+
+    /****************************************************************************************************************
+     * Views
+     ****************************************************************************************************************/
+
+    private class NodeList extends AbstractList<Integer> implements RandomAccess {
+        public Integer get(int i) {
+            if (i < 0 || i >= nodeCount()) {
+                throw new IndexOutOfBoundsException(i);
+            }
+            return nodeId(i);
+        }
+
+        public int size() {
+            return nodeCount();
+        }
+
+        public boolean contains(Object o) {
+            return o instanceof Integer && CompactGraph.this.indexOf((Integer) o) >= 0;
+        }
+
+        public int indexOf(Object o) {
+            return o instanceof Integer ? CompactGraph.this.indexOf((Integer) o) : -1;
+        }
+    }
+
+    private class AdjacencyList extends AbstractList<Integer> implements RandomAccess {
+        private final int start;
+        private final int size;
+
+        AdjacencyList(int node) {
+            start = offset(node);
+            size = offset(node + 1) - start;
+        }
+
+        public Integer get(int i) {
+            if (i < 0 || i >= size) {
+                throw new IndexOutOfBoundsException(i);
+            }
+            return nodeId(target(start + i));
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+
+    private class EdgeMap extends AbstractMap<Integer, List<Integer>> {
+        private Set<Map.Entry<Integer, List<Integer>>> entrySet;
+
+        public int size() {
+            return nodeCount();
+        }
+
+        public boolean containsKey(Object key) {
+            return key instanceof Integer && indexOf((Integer) key) >= 0;
+        }
+
+        public List<Integer> get(Object key) {
+            int node = key instanceof Integer ? indexOf((Integer) key) : -1;
+            return node < 0 ? null : new AdjacencyList(node);
+        }
+
+        public Set<Map.Entry<Integer, List<Integer>>> entrySet() {
+            if (entrySet == null) {
+                entrySet = new AbstractSet<Map.Entry<Integer, List<Integer>>>() {
+                    public int size() {
+                        return nodeCount();
+                    }
+
+                    public Iterator<Map.Entry<Integer, List<Integer>>> iterator() {
+                        return new Iterator<Map.Entry<Integer, List<Integer>>>() {
+                            private int node;
+
+                            public boolean hasNext() {
+                                return node < nodeCount();
+                            }
+
+                            public Map.Entry<Integer, List<Integer>> next() {
+                                if (!hasNext()) {
+                                    throw new NoSuchElementException();
+                                }
+                                int current = node++;
+                                return new AbstractMap.SimpleImmutableEntry<Integer, List<Integer>>(
+                                        nodeId(current), new AdjacencyList(current));
+                            }
+                        };
+                    }
+                };
+            }
+            return entrySet;
+        }
+    }
+}
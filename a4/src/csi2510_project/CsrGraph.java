@@ -0,0 +1,295 @@
+package csi2510_project;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A Graph stored in compressed sparse row (CSR) form. Node ids are remapped to dense indices 0..nodeCount()-1 and
+ * the out-edges of node i are targets[offsets[i]] .. targets[offsets[i + 1] - 1], also as dense indices.
+ *
+ * PageRank and other hot loops should use offsets() and targets() directly rather than the Graph views.
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class CsrGraph extends CompactGraph {
+    private final NodeIndex index;
+    private final int[] offsets;
+    private final int[] targets;
+    private CsrGraph transposed;    // cached by transpose()
+
+    /**
+     * @param index   the node ids, in dense index order
+     * @param offsets nodeCount + 1 offsets into targets, starting at 0
+     * @param targets the dense index of each edge's target, grouped by source
+     */
+    CsrGraph(NodeIndex index, int[] offsets, int[] targets) {
+        this.index = index;
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    /**
+     * Returns a graph in CSR form. A CsrGraph is returned as is, a MappedGraph is copied out of its file and any
+     * other graph is rebuilt, keeping the order of its nodes and of each adjacency list.
+     *
+     * O(V + E)
+     *
+     * @param graph the graph to convert
+     * @return the graph in CSR form
+     */
+    public static CsrGraph of(Graph graph) {
+        if (graph instanceof CsrGraph) {
+            return (CsrGraph) graph;
+        }
+        if (graph instanceof MappedGraph) {
+            return ((MappedGraph) graph).toCsrGraph();
+        }
+
+        List<Integer> nodes = graph.getGraphNodes();
+        Map<Integer, List<Integer>> edges = graph.getGraphEdges();
+        Builder builder = new Builder(nodes.size());
+        for (Integer node : nodes) {
+            builder.addNode(node);
+        }
+        for (Integer node : nodes) {
+            List<Integer> adjacent = edges.get(node);
+            if (adjacent != null) {
+                for (Integer target : adjacent) {
+                    builder.addEdge(node, target);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /****************************************************************************************************************
+     * Primitive API
+     ****************************************************************************************************************/
+
+    public int nodeCount() {
+        return index.size();
+    }
+
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    public int outDegree(int node) {
+        return offsets[node + 1] - offsets[node];
+    }
+
+    public int offset(int node) {
+        return offsets[node];
+    }
+
+    public int target(int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * Returns the nodeCount() + 1 offsets into targets(). The array is shared and must not be modified.
+     */
+    public int[] offsets() {
+        return offsets;
+    }
+
+    /**
+     * Returns the dense target index of every edge, grouped by source. The array is shared and must not be modified.
+     */
+    public int[] targets() {
+        return targets;
+    }
+
+    public int nodeId(int node) {
+        return index.id(node);
+    }
+
+    public int indexOf(int id) {
+        return index.indexOf(id);
+    }
+
+    /**
+     * Returns the graph with every edge reversed, sharing this graph's dense indices, so that the out-edges of a
+     * node in the transpose are its in-edges here. The transpose is built once and cached.
+     *
+     * O(V + E) the first time, O(1) after
+     *
+     * @return the transposed graph
+     */
+    public synchronized CsrGraph transpose() {
+        if (transposed == null) {
+            int nodeCount = index.size();
+            int[] inOffsets = new int[nodeCount + 1];
+            for (int target : targets) {
+                inOffsets[target + 1]++;
+            }
+            for (int i = 0; i < nodeCount; i++) {
+                inOffsets[i + 1] += inOffsets[i];
+            }
+
+            // Sources are visited in increasing order, so each in-edge list comes out sorted
+            int[] next = Arrays.copyOf(inOffsets, nodeCount);
+            int[] sources = new int[targets.length];
+            for (int u = 0; u < nodeCount; u++) {
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    sources[next[targets[e]]++] = u;
+                }
+            }
+            transposed = new CsrGraph(index, inOffsets, sources);
+            transposed.transposed = this;
+        }
+        return transposed;
+    }
+
+    /**
+     * Returns the same graph with its dense indices permuted, so node order[i] here becomes node i. Node ids and
+     * the order of each node's out-edges are unchanged; only where nodes sit in the arrays moves, which is what
+     * NodeOrdering uses to improve locality.
+     *
+     * O(V + E)
+     *
+     * @param order a permutation of 0..nodeCount()-1 giving the old index of each new index
+     * @return the renumbered graph
+     * @throws IllegalArgumentException if order is not a permutation of the nodes
+     */
+    public CsrGraph renumber(int[] order) {
+        int nodeCount = index.size();
+        if (order.length != nodeCount) {
+            throw new IllegalArgumentException("Order has " + order.length + " entries for " + nodeCount + " nodes");
+        }
+        int[] newIndex = new int[nodeCount];
+        Arrays.fill(newIndex, -1);
+        for (int i = 0; i < nodeCount; i++) {
+            int old = order[i];
+            if (old < 0 || old >= nodeCount) {
+                throw new IllegalArgumentException("Unknown node in order: " + old);
+            }
+            if (newIndex[old] >= 0) {
+                throw new IllegalArgumentException("Node appears twice in order: " + old);
+            }
+            newIndex[old] = i;
+        }
+
+        NodeIndex renumbered = new NodeIndex(nodeCount);
+        int[] newOffsets = new int[nodeCount + 1];
+        int[] newTargets = new int[targets.length];
+        for (int i = 0; i < nodeCount; i++) {
+            int old = order[i];
+            renumbered.add(index.id(old));
+            int position = newOffsets[i];
+            for (int e = offsets[old]; e < offsets[old + 1]; e++) {
+                newTargets[position++] = newIndex[targets[e]];
+            }
+            newOffsets[i + 1] = position;
+        }
+        return new CsrGraph(renumbered, newOffsets, newTargets);
+    }
+
+    /**
+     * Returns the node ids of this graph. The index is shared and must not be modified.
+     */
+    NodeIndex nodeIndex() {
+        return index;
+    }
+
+    /****************************************************************************************************************
+     * Builder
+     ****************************************************************************************************************/
+
+    /**
+     * Collects nodes and edges by id and lays them out in CSR form. Nodes get dense indices in the order they are
+     * first seen, and each node's out-edges keep the order they were added in.
+     */
+    public static class Builder {
+        private final NodeIndex index;
+        private final LongHashSet distinct;    // edges added so far, null if duplicates are kept
+        private int[] sources;
+        private int[] destinations;
+        private int edgeCount;
+
+        public Builder() {
+            this(16);
+        }
+
+        /**
+         * @param expectedNodes the number of nodes expected, to avoid rehashing
+         */
+        public Builder(int expectedNodes) {
+            this(expectedNodes, false);
+        }
+
+        /**
+         * @param expectedNodes the number of nodes expected, to avoid rehashing
+         * @param distinctEdges whether to drop an edge that was already added, as CSI2510.readGraph does
+         */
+        public Builder(int expectedNodes, boolean distinctEdges) {
+            index = new NodeIndex(expectedNodes);
+            distinct = distinctEdges ? new LongHashSet(expectedNodes) : null;
+            sources = new int[16];
+            destinations = new int[16];
+        }
+
+        /**
+         * Adds a node with no edges, if it is not already in the graph.
+         *
+         * @param id the node id
+         * @return this builder
+         */
+        public Builder addNode(int id) {
+            index.add(id);
+            return this;
+        }
+
+        /**
+         * Adds an edge, and its endpoints if they are not already in the graph. A duplicate edge is dropped if the
+         * builder keeps distinct edges.
+         *
+         * O(1) expected
+         *
+         * @param from the source node id
+         * @param to   the target node id
+         * @return this builder
+         */
+        public Builder addEdge(int from, int to) {
+            int u = index.add(from);
+            int v = index.add(to);
+            if (distinct != null && !distinct.add((long) u << 32 | v)) {
+                return this;
+            }
+            if (edgeCount == sources.length) {
+                sources = Arrays.copyOf(sources, edgeCount * 2);
+                destinations = Arrays.copyOf(destinations, edgeCount * 2);
+            }
+            sources[edgeCount] = u;
+            destinations[edgeCount] = v;
+            edgeCount++;
+            return this;
+        }
+
+        /**
+         * Lays the edges out with a stable counting sort on their source.
+         *
+         * O(V + E)
+         *
+         * @return the graph
+         */
+        public CsrGraph build() {
+            int nodeCount = index.size();
+            int[] offsets = new int[nodeCount + 1];
+            for (int e = 0; e < edgeCount; e++) {
+                offsets[sources[e] + 1]++;
+            }
+            for (int i = 0; i < nodeCount; i++) {
+                offsets[i + 1] += offsets[i];
+            }
+
+            int[] next = Arrays.copyOf(offsets, nodeCount);
+            int[] targets = new int[edgeCount];
+            for (int e = 0; e < edgeCount; e++) {
+                targets[next[sources[e]]++] = destinations[e];
+            }
+            return new CsrGraph(index, offsets, targets);
+        }
+    }
+}
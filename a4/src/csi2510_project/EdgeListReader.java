@@ -0,0 +1,314 @@
+package csi2510_project;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads edge lists of the form "from,to[,timestamp]", one edge per line, parsing the bytes directly instead of
+ * splitting strings. Fields may be separated by commas, spaces or tabs, though no comma may leave a field empty, and
+ * lines starting with '%' or '#' are comments. Like CSI2510.readGraph, the first line is skipped as a header unless told otherwise.
+ *
+ * Files are memory-mapped, other sources are read through a buffer. After each read the reader holds its
+ * throughput statistics; run main to print them for some files.
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class EdgeListReader {
+    public static final long NO_TIMESTAMP = Long.MIN_VALUE;    // timestamp of an edge without a third column
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Receives each edge as it is parsed, duplicates included.
+     */
+    public interface EdgeVisitor {
+        void edge(int from, int to, long timestamp);
+    }
+
+    private final boolean skipHeader;
+    private long bytes;
+    private long rows;
+    private long elapsedNanos;
+
+    public EdgeListReader() {
+        this(true);
+    }
+
+    /**
+     * @param skipHeader whether the first line is a header to skip
+     */
+    public EdgeListReader(boolean skipHeader) {
+        this.skipHeader = skipHeader;
+    }
+
+    public static void main(String[] args) throws IOException {
+        EdgeListReader reader = new EdgeListReader();
+        for (String filename : args) {
+            CsrGraph graph = reader.readGraph(Paths.get(filename));
+            System.out.println(filename + ": " + graph.nodeCount() + " nodes, " + graph.edgeCount() + " distinct edges");
+            System.out.println(reader.statistics());
+        }
+    }
+
+    /****************************************************************************************************************
+     * Graphs
+     ****************************************************************************************************************/
+
+    /**
+     * Reads a graph from a file, dropping duplicate edges. Node ids get dense indices in the order they are first
+     * seen, as in CSI2510.readGraph.
+     *
+     * O(V + E) expected
+     *
+     * @param path the edge list file
+     * @return the graph
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    public CsrGraph readGraph(Path path) throws IOException {
+        long start = System.nanoTime();
+        CsrGraph.Builder builder = new CsrGraph.Builder(1024, true);
+        read(path, (from, to, timestamp) -> builder.addEdge(from, to));
+        CsrGraph graph = builder.build();
+        elapsedNanos = System.nanoTime() - start;
+        return graph;
+    }
+
+    /**
+     * Reads a graph from a stream, dropping duplicate edges. The stream is not closed.
+     *
+     * O(V + E) expected
+     *
+     * @param in the edge list
+     * @return the graph
+     * @throws IOException if the stream cannot be read or is malformed
+     */
+    public CsrGraph readGraph(InputStream in) throws IOException {
+        long start = System.nanoTime();
+        CsrGraph.Builder builder = new CsrGraph.Builder(1024, true);
+        read(in, (from, to, timestamp) -> builder.addEdge(from, to));
+        CsrGraph graph = builder.build();
+        elapsedNanos = System.nanoTime() - start;
+        return graph;
+    }
+
+    /****************************************************************************************************************
+     * Edges
+     ****************************************************************************************************************/
+
+    /**
+     * Memory-maps a file and passes each edge to a visitor.
+     *
+     * O(E)
+     *
+     * @param path    the edge list file
+     * @param visitor receives each edge
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    public void read(Path path, EdgeVisitor visitor) throws IOException {
+        long start = System.nanoTime();
+        Parser parser = new Parser(visitor);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            // A single mapping is limited to 2 GB
+            for (long position = 0; position < size; position += Integer.MAX_VALUE) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(Integer.MAX_VALUE, size - position));
+                while (mapped.hasRemaining()) {
+                    int length = Math.min(buffer.length, mapped.remaining());
+                    mapped.get(buffer, 0, length);
+                    parser.parse(buffer, length);
+                }
+            }
+        }
+        parser.finish();
+        record(parser, start);
+    }
+
+    /**
+     * Reads a stream through a buffer and passes each edge to a visitor. The stream is not closed.
+     *
+     * O(E)
+     *
+     * @param in      the edge list
+     * @param visitor receives each edge
+     * @throws IOException if the stream cannot be read or is malformed
+     */
+    public void read(InputStream in, EdgeVisitor visitor) throws IOException {
+        long start = System.nanoTime();
+        Parser parser = new Parser(visitor);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int length;
+        while ((length = in.read(buffer)) != -1) {
+            parser.parse(buffer, length);
+        }
+        parser.finish();
+        record(parser, start);
+    }
+
+    /****************************************************************************************************************
+     * Statistics
+     ****************************************************************************************************************/
+
+    /**
+     * Returns the number of bytes parsed by the last read.
+     */
+    public long bytes() {
+        return bytes;
+    }
+
+    /**
+     * Returns the number of edge rows parsed by the last read, duplicates included.
+     */
+    public long rows() {
+        return rows;
+    }
+
+    /**
+     * Returns the duration of the last read in nanoseconds. For readGraph it runs until the graph is built, so it
+     * includes laying out the CSR arrays.
+     */
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the throughput of the last read.
+     */
+    public String statistics() {
+        double seconds = Math.max(elapsedNanos, 1) / 1e9;
+        return String.format("Read %d rows (%.1f MB) in %.1f ms: %.2f M rows/s, %.1f MB/s",
+                rows, bytes / 1e6, seconds * 1e3, rows / seconds / 1e6, bytes / seconds / 1e6);
+    }
+
+    private void record(Parser parser, long start) {
+        bytes = parser.bytes;
+        rows = parser.rows;
+        elapsedNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * A state machine over the bytes of an edge list, so rows can span buffer boundaries.
+     */
+    private class Parser {
+        private final EdgeVisitor visitor;
+        private final long[] fields = new long[3];
+        private int fieldCount;
+        private long value;         // accumulated as a negative number, so Integer.MIN_VALUE fits
+        private boolean inNumber;
+        private boolean negative;
+        private boolean afterComma;    // a comma was read since the last field, so a field must follow
+        private boolean skipLine = skipHeader;
+        private boolean lineStart = true;
+        private long line = 1;
+        private long bytes;
+        private long rows;
+
+        Parser(EdgeVisitor visitor) {
+            this.visitor = visitor;
+        }
+
+        void parse(byte[] buffer, int length) throws IOException {
+            int i = 0;
+            if (bytes == 0 && length >= 3 && buffer[0] == (byte) 0xEF && buffer[1] == (byte) 0xBB
+                    && buffer[2] == (byte) 0xBF) {
+                i = 3;    // UTF-8 byte order mark
+            }
+            bytes += length;
+
+            for (; i < length; i++) {
+                byte b = buffer[i];
+                if (b == '\n') {
+                    endLine();
+                }
+                else if (skipLine) {
+                    continue;
+                }
+                else if (b >= '0' && b <= '9') {
+                    if (value < (Long.MIN_VALUE + 9) / 10) {
+                        throw malformed();
+                    }
+                    value = value * 10 - (b - '0');
+                    if (fieldCount < 2 && value < (negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE)) {
+                        throw malformed();
+                    }
+                    inNumber = true;
+                    lineStart = false;
+                }
+                else if (b == ',') {
+                    // Two commas in a row, or a comma before the first field, leave a field empty
+                    if (!inNumber && (afterComma || fieldCount == 0)) {
+                        throw malformed();
+                    }
+                    endField();
+                    afterComma = true;
+                    lineStart = false;
+                }
+                else if (b == ' ' || b == '\t' || b == '\r') {
+                    endField();
+                }
+                else if (b == '-' && !inNumber && !negative) {
+                    negative = true;
+                    lineStart = false;
+                }
+                else if ((b == '%' || b == '#') && lineStart) {
+                    skipLine = true;
+                }
+                else {
+                    throw malformed();
+                }
+            }
+        }
+
+        void finish() throws IOException {
+            if (!lineStart || skipLine) {
+                endLine();
+            }
+        }
+
+        private void endField() throws IOException {
+            if (inNumber) {
+                if (fieldCount == fields.length) {
+                    throw malformed();
+                }
+                fields[fieldCount++] = negative ? value : -value;
+                afterComma = false;
+            }
+            else if (negative) {
+                throw malformed();
+            }
+            value = 0;
+            inNumber = false;
+            negative = false;
+        }
+
+        private void endLine() throws IOException {
+            if (!skipLine) {
+                endField();
+                if (fieldCount == 1 || afterComma) {
+                    throw malformed();
+                }
+                if (fieldCount >= 2) {
+                    rows++;
+                    visitor.edge((int) fields[0], (int) fields[1], fieldCount == 3 ? fields[2] : NO_TIMESTAMP);
+                }
+            }
+            fieldCount = 0;
+            value = 0;
+            inNumber = false;
+            negative = false;
+            afterComma = false;
+            skipLine = false;
+            lineStart = true;
+            line++;
+        }
+
+        private IOException malformed() {
+            return new IOException("Malformed edge list at line " + line);
+        }
+    }
+}
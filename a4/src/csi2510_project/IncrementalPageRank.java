@@ -0,0 +1,323 @@
+package csi2510_project;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps the PageRank of a changing graph up to date. The ranks solve the same equations as PageRank,
+ * PR(A) = (1-d) + d (PR(T1)/C(T1) + ... + PR(Tn)/C(Tn)), but rather than sweeping the whole graph after every
+ * change, each node also holds a residual: how far its current rank is from the right hand side. Adding or
+ * removing an edge u -> v only changes the residuals of u's out-neighbours, and residuals are pushed along out-edges
+ * (Gauss-Southwell style) until every one is at most epsilon, so work stays in the region the change affects.
+ *
+ * Edges are kept distinct, as CSI2510.readGraph does: adding an edge that exists or removing one that does not
+ * changes nothing.
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class IncrementalPageRank {
+    private static final double DAMPING_FACTOR = PageRank.DAMPING_FACTOR;
+
+    private final double epsilon;    // largest residual left after propagating
+    private final NodeIndex index;
+    private int[][] adjacency;       // out-neighbours of each node, by dense index
+    private int[] degree;
+    private double[] rank;
+    private double[] residual;
+    private boolean[] queued;
+    private int[] queue;             // circular FIFO of nodes whose residual may exceed epsilon
+    private int head;
+    private int queueSize;
+    private long pushes;
+
+    IncrementalPageRank(CsrGraph graph) {
+        this(graph, null);
+    }
+
+    /**
+     * Starts from a rank vector with the default epsilon of 0.00001, which leaves the ranks within about 0.0001 of
+     * their fixed point: closer than PageRank's default stopping rule gets them.
+     */
+    IncrementalPageRank(CsrGraph graph, double[] rank) {
+        this(graph, rank, 0.00001);
+    }
+
+    /**
+     * @param graph   the initial graph, which is copied and never modified
+     * @param rank    the PR of each node of graph by dense index to start from, such as the result of
+     *                PageRank.computePageRank, or null to start from PageRank.STARTING_PAGE_RANK
+     * @param epsilon the largest residual to leave; each rank is then within about epsilon / (1 - d) of its fixed
+     *                point
+     * @throws IllegalArgumentException if rank does not have one entry for each node
+     */
+    IncrementalPageRank(CsrGraph graph, double[] rank, double epsilon) {
+        int nodeCount = graph.nodeCount();
+        if (rank != null && rank.length < nodeCount) {
+            throw new IllegalArgumentException(rank.length + " ranks for " + nodeCount + " nodes");
+        }
+        this.epsilon = epsilon;
+        this.index = new NodeIndex(nodeCount);
+        int capacity = Math.max(16, nodeCount);
+        this.adjacency = new int[capacity][];
+        this.degree = new int[capacity];
+        this.rank = new double[capacity];
+        this.residual = new double[capacity];
+        this.queued = new boolean[capacity];
+        this.queue = new int[capacity];
+
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        for (int u = 0; u < nodeCount; u++) {
+            index.add(graph.nodeId(u));
+            adjacency[u] = Arrays.copyOfRange(targets, offsets[u], offsets[u + 1]);
+            degree[u] = adjacency[u].length;
+            this.rank[u] = rank == null ? PageRank.STARTING_PAGE_RANK : rank[u];
+        }
+
+        // The residual of the starting ranks, accumulated the same way PageRank does
+        for (int u = 0; u < nodeCount; u++) {
+            if (degree[u] > 0) {
+                double share = this.rank[u] / degree[u];
+                for (int v : adjacency[u]) {
+                    residual[v] += share;
+                }
+            }
+        }
+        for (int v = 0; v < nodeCount; v++) {
+            residual[v] = (1 - DAMPING_FACTOR) + DAMPING_FACTOR * residual[v] - this.rank[v];
+            enqueue(v);
+        }
+        propagate();
+    }
+
+    /****************************************************************************************************************
+     * Updates
+     ****************************************************************************************************************/
+
+    /**
+     * Adds an edge, and its endpoints if they are new. New nodes start with a rank of 0 and a residual of 1 - d.
+     * The ranks are brought up to date by the next propagate().
+     *
+     * O(C(from))
+     *
+     * @param from the source node id
+     * @param to   the target node id
+     * @return true if the edge was added, false if it already existed
+     */
+    public boolean addEdge(int from, int to) {
+        int u = node(from);
+        int v = node(to);
+        int[] out = adjacency[u];
+        int oldDegree = degree[u];
+        for (int i = 0; i < oldDegree; i++) {
+            if (out[i] == v) {
+                return false;
+            }
+        }
+
+        if (oldDegree == out.length) {
+            out = adjacency[u] = Arrays.copyOf(out, Math.max(4, oldDegree * 2));
+        }
+        out[oldDegree] = v;
+        degree[u] = oldDegree + 1;
+
+        // Every old neighbour's share of PR(u) shrinks from 1/C to 1/(C+1), and v gains a share
+        double pushed = DAMPING_FACTOR * rank[u];
+        if (oldDegree > 0) {
+            double delta = pushed / (oldDegree + 1) - pushed / oldDegree;
+            for (int i = 0; i < oldDegree; i++) {
+                addResidual(out[i], delta);
+            }
+        }
+        addResidual(v, pushed / (oldDegree + 1));
+        return true;
+    }
+
+    /**
+     * Removes an edge. Its endpoints stay in the graph. The ranks are brought up to date by the next propagate().
+     *
+     * O(C(from))
+     *
+     * @param from the source node id
+     * @param to   the target node id
+     * @return true if the edge was removed, false if it did not exist
+     */
+    public boolean removeEdge(int from, int to) {
+        int u = index.indexOf(from);
+        int v = index.indexOf(to);
+        if (u < 0 || v < 0) {
+            return false;
+        }
+
+        int[] out = adjacency[u];
+        int oldDegree = degree[u];
+        int position = -1;
+        for (int i = 0; i < oldDegree; i++) {
+            if (out[i] == v) {
+                position = i;
+                break;
+            }
+        }
+        if (position < 0) {
+            return false;
+        }
+
+        // Keep the remaining edges in order
+        System.arraycopy(out, position + 1, out, position, oldDegree - position - 1);
+        degree[u] = oldDegree - 1;
+
+        double pushed = DAMPING_FACTOR * rank[u];
+        addResidual(v, -pushed / oldDegree);
+        if (oldDegree > 1) {
+            double delta = pushed / (oldDegree - 1) - pushed / oldDegree;
+            for (int i = 0; i < oldDegree - 1; i++) {
+                addResidual(out[i], delta);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Pushes residuals along out-edges until none is larger than epsilon. Each push moves a node's residual into its
+     * rank and spreads d times it over the node's out-neighbours' residuals.
+     *
+     * @return the number of pushes
+     */
+    public long propagate() {
+        long start = pushes;
+        while (queueSize > 0) {
+            int u = queue[head];
+            head = (head + 1) % queue.length;
+            queueSize--;
+            queued[u] = false;
+
+            double r = residual[u];
+            if (Math.abs(r) <= epsilon) {
+                continue;
+            }
+            rank[u] += r;
+            residual[u] = 0.0;
+            pushes++;
+
+            int outDegree = degree[u];
+            if (outDegree > 0) {
+                double share = DAMPING_FACTOR * r / outDegree;
+                int[] out = adjacency[u];
+                for (int i = 0; i < outDegree; i++) {
+                    addResidual(out[i], share);
+                }
+            }
+        }
+        return pushes - start;
+    }
+
+    /****************************************************************************************************************
+     * Ranks
+     ****************************************************************************************************************/
+
+    /**
+     * Returns the number of nodes.
+     */
+    public int nodeCount() {
+        return index.size();
+    }
+
+    /**
+     * Returns the PR of a node, as of the last propagate().
+     *
+     * @param id a node id
+     * @return its PR
+     * @throws IllegalArgumentException if the node is not in the graph
+     */
+    public double getPageRank(int id) {
+        int node = index.indexOf(id);
+        if (node < 0) {
+            throw new IllegalArgumentException("Unknown node: " + id);
+        }
+        return rank[node];
+    }
+
+    /**
+     * Returns a Map<Integer, Double> mapping each node to its PR, as of the last propagate().
+     */
+    public Map<Integer, Double> getPageRank() {
+        Map<Integer, Double> pageRank = new HashMap<>(index.size() * 2);
+        for (int i = 0; i < index.size(); i++) {
+            pageRank.put(index.id(i), rank[i]);
+        }
+        return pageRank;
+    }
+
+    /**
+     * Returns the total number of pushes so far, to compare against nodeCount() times the iterations of a full
+     * recomputation.
+     */
+    public long getPushCount() {
+        return pushes;
+    }
+
+    /**
+     * Returns a snapshot of the current graph, with the same dense indices.
+     *
+     * O(V + E)
+     */
+    public CsrGraph toCsrGraph() {
+        int nodeCount = index.size();
+        CsrGraph.Builder builder = new CsrGraph.Builder(nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            builder.addNode(index.id(i));
+        }
+        for (int u = 0; u < nodeCount; u++) {
+            for (int i = 0; i < degree[u]; i++) {
+                builder.addEdge(index.id(u), index.id(adjacency[u][i]));
+            }
+        }
+        return builder.build();
+    }
+
+    private void addResidual(int node, double delta) {
+        residual[node] += delta;
+        if (!queued[node] && Math.abs(residual[node]) > epsilon) {
+            enqueue(node);
+        }
+    }
+
+    private void enqueue(int node) {
+        queue[(head + queueSize) % queue.length] = node;
+        queueSize++;
+        queued[node] = true;
+    }
+
+    /**
+     * Returns the dense index of a node id, adding the node with a rank of 0 if it is new.
+     */
+    private int node(int id) {
+        int before = index.size();
+        int node = index.add(id);
+        if (node == before) {
+            if (node == rank.length) {
+                grow(node * 2);
+            }
+            adjacency[node] = new int[0];
+            addResidual(node, 1 - DAMPING_FACTOR);
+        }
+        return node;
+    }
+
+    private void grow(int capacity) {
+        adjacency = Arrays.copyOf(adjacency, capacity);
+        degree = Arrays.copyOf(degree, capacity);
+        rank = Arrays.copyOf(rank, capacity);
+        residual = Arrays.copyOf(residual, capacity);
+        queued = Arrays.copyOf(queued, capacity);
+
+        // Unwrap the circular queue into the larger array
+        int[] grown = new int[capacity];
+        for (int i = 0; i < queueSize; i++) {
+            grown[i] = queue[(head + i) % queue.length];
+        }
+        queue = grown;
+        head = 0;
+    }
+}
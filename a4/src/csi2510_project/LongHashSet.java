@@ -0,0 +1,113 @@
+package csi2510_project;
+
+/**
+ * A set of longs in an open addressing hash table, used to drop duplicate edges keyed as (from << 32 | to) without
+ * boxing them.
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class LongHashSet {
+    private static final int MIN_TABLE_SIZE = 32;
+
+    private long[] keys;
+    private boolean[] used;
+    private int size;
+
+    public LongHashSet() {
+        this(MIN_TABLE_SIZE / 2);
+    }
+
+    /**
+     * @param expectedSize the number of keys expected, to avoid rehashing
+     */
+    public LongHashSet(int expectedSize) {
+        int tableSize = MIN_TABLE_SIZE;
+        while (tableSize < expectedSize * 2) {
+            tableSize *= 2;
+        }
+        keys = new long[tableSize];
+        used = new boolean[tableSize];
+    }
+
+    /**
+     * Returns the number of keys in the set.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds a key.
+     *
+     * O(1) expected
+     *
+     * @param key the key
+     * @return true if the key was not already in the set
+     */
+    public boolean add(long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        used[slot] = true;
+        if (++size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether a key is in the set.
+     *
+     * O(1) expected
+     *
+     * @param key the key
+     */
+    public boolean contains(long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    private void rehash(int tableSize) {
+        long[] oldKeys = keys;
+        boolean[] oldUsed = used;
+        keys = new long[tableSize];
+        used = new boolean[tableSize];
+        int mask = tableSize - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (used[slot]) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                used[slot] = true;
+            }
+        }
+    }
+
+    /**
+     * Murmur3 64-bit finalizer, folded to an int.
+     */
+    static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
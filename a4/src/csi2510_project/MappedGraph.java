@@ -0,0 +1,180 @@
+package csi2510_project;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A graph read straight out of a memory-mapped BinaryGraphFile. Opening one only reads the header; every section
+ * stays in the file and is paged in by the operating system as it is used, so even a huge graph opens in
+ * milliseconds, and every process mapping the same file shares the same pages.
+ *
+ * The graph is used through the Graph views or the CompactGraph accessors. Rank computations copy it into a
+ * CsrGraph first with CsrGraph.of(), a bulk copy far cheaper than parsing.
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class MappedGraph extends CompactGraph {
+    private final int nodeCount;
+    private final int edgeCount;
+    private final IntBuffer ids;
+    private final IntBuffer slots;
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final LongBuffer timestamps;    // null if the file has none
+
+    private MappedGraph(int nodeCount, int edgeCount, IntBuffer ids, IntBuffer slots, IntBuffer offsets,
+                        IntBuffer targets, LongBuffer timestamps) {
+        this.nodeCount = nodeCount;
+        this.edgeCount = edgeCount;
+        this.ids = ids;
+        this.slots = slots;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.timestamps = timestamps;
+    }
+
+    /**
+     * Maps a binary graph file.
+     *
+     * O(1)
+     *
+     * @param path the binary graph file
+     * @return the graph
+     * @throws IOException if the file cannot be read, is not a binary graph file, or has a section over 2 GB
+     */
+    public static MappedGraph open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(BinaryGraphFile.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading
+            }
+            header.flip();
+            if (header.remaining() < BinaryGraphFile.HEADER_BYTES || header.getInt() != BinaryGraphFile.MAGIC) {
+                throw new IOException("Not a binary graph file: " + path);
+            }
+            if (header.getInt() != BinaryGraphFile.VERSION) {
+                throw new IOException("Unsupported binary graph file version: " + path);
+            }
+            int flags = header.getInt();
+            int nodeCount = header.getInt();
+            long edgeCount = header.getLong();
+            int tableSize = header.getInt();
+            header.getInt();
+            long idsOffset = header.getLong();
+            long slotsOffset = header.getLong();
+            long offsetsOffset = header.getLong();
+            long targetsOffset = header.getLong();
+            long timestampsOffset = header.getLong();
+
+            return new MappedGraph(nodeCount, (int) edgeCount,
+                    map(channel, idsOffset, 4L * nodeCount).asIntBuffer(),
+                    map(channel, slotsOffset, 4L * tableSize).asIntBuffer(),
+                    map(channel, offsetsOffset, 4L * (nodeCount + 1)).asIntBuffer(),
+                    map(channel, targetsOffset, 4L * edgeCount).asIntBuffer(),
+                    (flags & BinaryGraphFile.FLAG_TIMESTAMPS) == 0 ? null
+                            : map(channel, timestampsOffset, 8L * edgeCount).asLongBuffer());
+        }
+    }
+
+    private static ByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Binary graph file section too large to map: " + size + " bytes");
+        }
+        if (size == 0) {
+            return ByteBuffer.allocate(0);    // an empty section may be aligned past the end of the file
+        }
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        return mapped.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Copies the graph out of the file into arrays.
+     *
+     * O(V + E)
+     *
+     * @return the graph in CSR form
+     */
+    public CsrGraph toCsrGraph() {
+        int[] idArray = new int[Math.max(1, nodeCount)];
+        int[] slotArray = new int[slots.capacity()];
+        int[] offsetArray = new int[nodeCount + 1];
+        int[] targetArray = new int[edgeCount];
+        ids.get(0, idArray, 0, nodeCount);
+        slots.get(0, slotArray);
+        offsets.get(0, offsetArray);
+        targets.get(0, targetArray);
+        return new CsrGraph(new NodeIndex(idArray, slotArray, nodeCount), offsetArray, targetArray);
+    }
+
+    /**
+     * Returns whether the file holds edge timestamps.
+     */
+    public boolean hasTimestamps() {
+        return timestamps != null;
+    }
+
+    /**
+     * Returns the earliest timestamp of an edge.
+     *
+     * @param edge an edge position, less than edgeCount()
+     * @return the timestamp, or EdgeListReader.NO_TIMESTAMP if the edge list had none for it
+     * @throws IllegalStateException if the file holds no timestamps
+     */
+    public long timestamp(int edge) {
+        if (timestamps == null) {
+            throw new IllegalStateException("No timestamps");
+        }
+        return timestamps.get(edge);
+    }
+
+    /****************************************************************************************************************
+     * Primitive API
+     ****************************************************************************************************************/
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    public int outDegree(int node) {
+        return offsets.get(node + 1) - offsets.get(node);
+    }
+
+    public int offset(int node) {
+        return offsets.get(node);
+    }
+
+    public int target(int edge) {
+        return targets.get(edge);
+    }
+
+    public int nodeId(int node) {
+        return ids.get(node);
+    }
+
+    /**
+     * Probes the NodeIndex hash table stored in the file.
+     */
+    public int indexOf(int id) {
+        int mask = slots.capacity() - 1;
+        int slot = NodeIndex.hash(id) & mask;
+        int entry;
+        while ((entry = slots.get(slot)) != 0) {
+            if (ids.get(entry - 1) == id) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+}
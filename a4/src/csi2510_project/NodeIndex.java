@@ -0,0 +1,150 @@
+package csi2510_project;
+
+import java.util.Arrays;
+
+/**
+ * Maps node ids to dense indices 0..size-1 in the order they were first added, using an open addressing hash table
+ * of ints so no id is ever boxed.
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class NodeIndex {
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] ids;      // dense index -> id
+    private int[] slots;    // hash table of dense index + 1, 0 if empty
+    private int size;
+
+    public NodeIndex() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize the number of ids expected, to avoid rehashing
+     */
+    public NodeIndex(int expectedSize) {
+        ids = new int[Math.max(MIN_CAPACITY, expectedSize)];
+        slots = new int[tableSize(expectedSize)];
+    }
+
+    /**
+     * Wraps arrays previously taken from ids() and slots(), without rehashing.
+     */
+    NodeIndex(int[] ids, int[] slots, int size) {
+        this.ids = ids;
+        this.slots = slots;
+        this.size = size;
+    }
+
+    /**
+     * Returns the number of ids in the index.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the dense index of an id, adding it if it is new.
+     *
+     * @param id a node id
+     * @return its dense index
+     */
+    public int add(int id) {
+        int mask = slots.length - 1;
+        int slot = hash(id) & mask;
+        int entry;
+        while ((entry = slots[slot]) != 0) {
+            if (ids[entry - 1] == id) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        ids[size] = id;
+        slots[slot] = ++size;
+        if (size * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        return size - 1;
+    }
+
+    /**
+     * Returns the dense index of an id.
+     *
+     * @param id a node id
+     * @return its dense index, or -1 if it is not in the index
+     */
+    public int indexOf(int id) {
+        int mask = slots.length - 1;
+        int slot = hash(id) & mask;
+        int entry;
+        while ((entry = slots[slot]) != 0) {
+            if (ids[entry - 1] == id) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the id at a dense index.
+     *
+     * @param index a dense index, less than size()
+     * @return the node id
+     */
+    public int id(int index) {
+        return ids[index];
+    }
+
+    /**
+     * Returns the ids in dense index order. The array may be longer than size() and must not be modified.
+     */
+    int[] ids() {
+        return ids;
+    }
+
+    /**
+     * Returns the hash table: a power of two number of slots, each holding a dense index + 1 or 0 if empty, probed
+     * linearly from hash(id). The array must not be modified.
+     */
+    int[] slots() {
+        return slots;
+    }
+
+    private void rehash(int tableSize) {
+        int[] table = new int[tableSize];
+        int mask = tableSize - 1;
+        for (int i = 0; i < size; i++) {
+            int slot = hash(ids[i]) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = i + 1;
+        }
+        slots = table;
+    }
+
+    private static int tableSize(int expectedSize) {
+        int tableSize = MIN_CAPACITY * 2;
+        while (tableSize < expectedSize * 2) {
+            tableSize *= 2;
+        }
+        return tableSize;
+    }
+
+    /**
+     * Murmur3 finalizer, so sequential ids do not cluster in the table.
+     */
+    static int hash(int id) {
+        id ^= id >>> 16;
+        id *= 0x85ebca6b;
+        id ^= id >>> 13;
+        id *= 0xc2b2ae35;
+        id ^= id >>> 16;
+        return id;
+    }
+}
@@ -9,15 +9,46 @@
 
 package csi2510_project;
 
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 public class PageRank {
     public static final double DAMPING_FACTOR = 0.85;    // damping factor
     public static final double STARTING_PAGE_RANK = 1;
+    public static final int EXTRAPOLATION_PERIOD = 10;   // iterations between quadratic extrapolations
+    public static final double FREEZE_RATIO = 1;         // adaptive nodes freeze below this multiple of tolerance
+    public static final int THAW_PERIOD = 10;            // iterations between adaptive sweeps over every node
+
+    /**
+     * How the ranks are iterated towards the fixed point. Every solver stops on the same rule: only after a Jacobi
+     * step over every node changes the ranks by at most tolerance on average, which bounds the mean error of the
+     * ranks by tolerance / (1 - d) whatever the solver. A solver whose own steps are not Jacobi steps runs one when
+     * its change drops within tolerance, and carries on if that step does not confirm it. The solvers agree to within
+     * that bound, not exactly.
+     */
+    public enum Solver {
+        /** Every node is updated from the previous iteration's ranks, the original power iteration. */
+        JACOBI,
+        /** Nodes are updated in place in dense index order, so each sees the ranks already updated this iteration. */
+        GAUSS_SEIDEL,
+        /** Jacobi, with quadratic extrapolation from the last four iterates every EXTRAPOLATION_PERIOD iterations. */
+        EXTRAPOLATION,
+        /**
+         * Jacobi over the nodes still changing: a node is frozen once its change is below FREEZE_RATIO * tolerance,
+         * and every THAW_PERIOD iterations all nodes are swept again so none stays frozen on a stale value. Frozen
+         * nodes add nothing to the change, so it only stops after a sweep over all nodes.
+         */
+        ADAPTIVE
+    }
+
     private double tolerance;                            // tolerance to stop
     private long maxIter;                                // max iterations to stop
+    private Solver solver;
+    private int iterations;                              // iterations run by the last computation
+    private double meanChange;                           // mean change in the last iteration
+    private double[] residuals = new double[0];          // mean change in each iteration of the last computation
+    private boolean extrapolated;                        // whether the last step replaced the ranks by extrapolation
 
     PageRank() {
         // default tolerance=0.000001, default maxIter=100
@@ -25,8 +56,13 @@ public class PageRank {
     }
 
     PageRank(double tolerance, long maxIter) {
+        this(tolerance, maxIter, Solver.JACOBI);
+    }
+
+    PageRank(double tolerance, long maxIter, Solver solver) {
         this.tolerance = tolerance;
         this.maxIter = maxIter;
+        this.solver = solver;
     }
 
     /**
@@ -38,19 +74,14 @@ public class PageRank {
      */
 
     public Map<Integer, Double> computePageRank(Graph graph) {
-        List<Integer> nodes = graph.getGraphNodes();
-        Map<Integer, List<Integer>> edges = graph.getGraphEdges();
-        Map<Integer, Double> pageRank = new HashMap<>(nodes.size());
         long startTime = System.currentTimeMillis();
+        CsrGraph csr = CsrGraph.of(graph);
+        double[] rank = computePageRank(csr, new PageRankWorkspace());
 
-        for (Integer node : nodes) {
-            pageRank.put(node, STARTING_PAGE_RANK);
-        }
-
-        double meanChange = Double.MAX_VALUE;
-        int iterations = 0;
-        while (meanChange > tolerance && ++iterations <= maxIter) {
-            meanChange = updatePageRankOneStep(graph, pageRank) / nodes.size();
+        // Boxing happens only here, at the API boundary
+        Map<Integer, Double> pageRank = new HashMap<>(csr.nodeCount() * 2);
+        for (int i = 0; i < csr.nodeCount(); i++) {
+            pageRank.put(csr.nodeId(i), rank[i]);
         }
 
         // XXX: This really isn't the right place to be printing statistics,
@@ -61,28 +92,318 @@ public class PageRank {
         return pageRank;
     }
 
-    private double updatePageRankOneStep(Graph graph, Map<Integer, Double> pageRank) {
-        List<Integer> nodes = graph.getGraphNodes();
-        Map<Integer, List<Integer>> edges = graph.getGraphEdges();
-        Map<Integer, Double> pageRankFromIncoming = new HashMap<>(nodes.size());
+    /**
+     * Computes the PageRank of each node of a graph in CSR form.
+     *
+     * O(V + E) per iteration
+     *
+     * @param graph the graph
+     * @return the PR of each node, by dense index
+     */
+    public double[] computePageRank(CsrGraph graph) {
+        PageRankWorkspace workspace = new PageRankWorkspace();
+        workspace.ensureCapacity(graph.nodeCount());
+        return computePageRank(graph, workspace);
+    }
+
+    /**
+     * Computes the PageRank of each node of a graph in CSR form in a workspace's buffers, allocating nothing if they
+     * are already large enough.
+     *
+     * O(V + E) per iteration
+     *
+     * @param graph     the graph
+     * @param workspace the buffers to compute in
+     * @return the PR of each node, by dense index: one of the workspace's buffers, which may be longer than the
+     *         number of nodes and is only valid until the workspace is used again
+     */
+    public double[] computePageRank(CsrGraph graph, PageRankWorkspace workspace) {
+        int nodeCount = graph.nodeCount();
+        workspace.ensureCapacity(nodeCount);
+        Arrays.fill(workspace.rank, 0, nodeCount, STARTING_PAGE_RANK);
+        int activeCount = nodeCount;
+        if (solver == Solver.GAUSS_SEIDEL || solver == Solver.ADAPTIVE) {
+            updateContributions(graph, workspace);
+        }
+        if (solver == Solver.ADAPTIVE) {
+            workspace.ensureActive(nodeCount);
+            activateAll(workspace, nodeCount);
+        }
+        if (solver == Solver.EXTRAPOLATION) {
+            workspace.ensureHistory(nodeCount);
+        }
 
-        for (Map.Entry<Integer, List<Integer>> entry : edges.entrySet()) {
-            Integer fromNode = entry.getKey();
-            List<Integer> outgoingEdges = entry.getValue();
-            for (Integer toNode : outgoingEdges) {
-                double incomingPrForNode = pageRankFromIncoming.computeIfAbsent(toNode, x -> 0.0);
-                pageRankFromIncoming.put(toNode, incomingPrForNode + pageRank.get(fromNode) / outgoingEdges.size());
+        meanChange = Double.MAX_VALUE;
+        iterations = 0;
+        boolean converged = false;
+        boolean confirm = false;    // the solver's own change is within tolerance, so check it with a Jacobi step
+        while (!converged && iterations < maxIter) {
+            iterations++;
+            double totalChange;
+            boolean jacobiStep;     // whether every node was updated from the previous iteration's ranks
+            switch (solver) {
+                case GAUSS_SEIDEL:
+                    jacobiStep = confirm;
+                    if (jacobiStep) {
+                        totalChange = updatePageRankOneStep(graph, workspace);
+                        updateContributions(graph, workspace);
+                    }
+                    else {
+                        totalChange = updatePageRankInPlace(graph, workspace);
+                    }
+                    break;
+                case EXTRAPOLATION:
+                    totalChange = updatePageRankExtrapolated(graph, workspace);
+                    jacobiStep = !extrapolated;
+                    break;
+                case ADAPTIVE:
+                    jacobiStep = confirm || activeCount == nodeCount || iterations % THAW_PERIOD == 0;
+                    if (jacobiStep) {
+                        activeCount = activateAll(workspace, nodeCount);
+                    }
+                    totalChange = updatePageRankActive(graph, workspace, activeCount);
+                    activeCount = workspace.activeCount;
+                    break;
+                default:
+                    totalChange = updatePageRankOneStep(graph, workspace);
+                    jacobiStep = true;
+            }
+            meanChange = nodeCount == 0 ? 0 : totalChange / nodeCount;
+            recordResidual(meanChange);
+            converged = meanChange <= tolerance && jacobiStep;
+            confirm = meanChange <= tolerance && !jacobiStep;
+        }
+        return workspace.rank;
+    }
+
+    /**
+     * Returns the number of iterations run by the last computation.
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Returns the mean change in PR in the last iteration of the last computation.
+     */
+    public double getMeanChange() {
+        return meanChange;
+    }
+
+    /**
+     * Returns the mean change in PR in each iteration of the last computation, to compare how solvers converge. Only
+     * the changes of Jacobi steps are residuals of the same fixed-point equation across solvers.
+     */
+    public double[] getResiduals() {
+        return Arrays.copyOf(residuals, iterations);
+    }
+
+    private void recordResidual(double residual) {
+        if (iterations > residuals.length) {
+            residuals = Arrays.copyOf(residuals, Math.max(16, residuals.length * 2));
+        }
+        residuals[iterations - 1] = residual;
+    }
+
+    /**
+     * Sets workspace.contribution to PR/C for the current ranks.
+     */
+    private static void updateContributions(CsrGraph graph, PageRankWorkspace workspace) {
+        int nodeCount = graph.nodeCount();
+        int[] offsets = graph.offsets();
+        double[] rank = workspace.rank;
+        for (int u = 0; u < nodeCount; u++) {
+            int degree = offsets[u + 1] - offsets[u];
+            workspace.contribution[u] = degree == 0 ? 0 : rank[u] / degree;
+        }
+    }
+
+    /**
+     * Makes every node active again.
+     *
+     * @return the number of active nodes
+     */
+    private static int activateAll(PageRankWorkspace workspace, int nodeCount) {
+        for (int v = 0; v < nodeCount; v++) {
+            workspace.active[v] = v;
+        }
+        return nodeCount;
+    }
+
+    /**
+     * Pushes each node's contribution PR/C along its out-edges into the next-rank buffer, then finishes the new
+     * ranks and swaps them in.
+     *
+     * @return the total change in PR
+     */
+    private double updatePageRankOneStep(CsrGraph graph, PageRankWorkspace workspace) {
+        int nodeCount = graph.nodeCount();
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        double[] rank = workspace.rank;
+        double[] next = workspace.next;
+        double[] contribution = workspace.contribution;
+
+        for (int u = 0; u < nodeCount; u++) {
+            int degree = offsets[u + 1] - offsets[u];
+            contribution[u] = degree == 0 ? 0 : rank[u] / degree;
+            next[u] = 0.0;
+        }
+
+        for (int u = 0; u < nodeCount; u++) {
+            double pageRankFromU = contribution[u];
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                next[targets[e]] += pageRankFromU;
             }
         }
 
         double totalChange = 0.0;
-        for (Integer node : nodes) {
-            double oldPageRank = pageRank.get(node);
-            double newPageRank = (1 - DAMPING_FACTOR) + DAMPING_FACTOR * pageRankFromIncoming.getOrDefault(node, 0.0);
-            totalChange += Math.abs(oldPageRank - newPageRank);
-            pageRank.put(node, newPageRank);
+        for (int v = 0; v < nodeCount; v++) {
+            double newPageRank = (1 - DAMPING_FACTOR) + DAMPING_FACTOR * next[v];
+            totalChange += Math.abs(rank[v] - newPageRank);
+            next[v] = newPageRank;
+        }
+
+        workspace.swap();
+        return totalChange;
+    }
+
+    /**
+     * Pulls each node's new PR from its in-edges and stores it straight back, so the nodes after it in this
+     * iteration already see it. workspace.contribution must hold PR/C for the current ranks.
+     *
+     * @return the total change in PR
+     */
+    private double updatePageRankInPlace(CsrGraph graph, PageRankWorkspace workspace) {
+        int nodeCount = graph.nodeCount();
+        int[] offsets = graph.offsets();
+        CsrGraph incoming = graph.transpose();
+        int[] inOffsets = incoming.offsets();
+        int[] sources = incoming.targets();
+        double[] rank = workspace.rank;
+        double[] contribution = workspace.contribution;
+
+        double totalChange = 0.0;
+        for (int v = 0; v < nodeCount; v++) {
+            double incomingPr = 0.0;
+            for (int e = inOffsets[v]; e < inOffsets[v + 1]; e++) {
+                incomingPr += contribution[sources[e]];
+            }
+            double newPageRank = (1 - DAMPING_FACTOR) + DAMPING_FACTOR * incomingPr;
+            totalChange += Math.abs(rank[v] - newPageRank);
+            rank[v] = newPageRank;
+            int degree = offsets[v + 1] - offsets[v];
+            contribution[v] = degree == 0 ? 0 : newPageRank / degree;
+        }
+        return totalChange;
+    }
+
+    /**
+     * Runs a Jacobi step, keeping the three previous iterates when an extrapolation is due. The error of the
+     * iterates shrinks as A^k for a fixed matrix A, so if it lies mostly along A's two dominant eigenvectors the
+     * differences d of successive iterates satisfy d(k) = p d(k-1) + q d(k-2). Fitting p and q by least squares gives
+     * the limit x = (x(k) - p x(k-1) - q x(k-2)) / (1 - p - q), which replaces the ranks unless it is undefined or
+     * puts a node below the 1 - d that bounds every PR.
+     *
+     * @return the total change in PR of the Jacobi step
+     */
+    private double updatePageRankExtrapolated(CsrGraph graph, PageRankWorkspace workspace) {
+        int nodeCount = graph.nodeCount();
+        int phase = iterations % EXTRAPOLATION_PERIOD;
+        int before = EXTRAPOLATION_PERIOD - phase;    // iterations until the next extrapolation
+        if (before <= 2 || phase == 0) {
+            // history[0] holds x(k-1), history[1] x(k-2), history[2] x(k-3)
+            System.arraycopy(workspace.rank, 0, workspace.history[phase == 0 ? 0 : before], 0, nodeCount);
         }
 
+        double totalChange = updatePageRankOneStep(graph, workspace);
+        extrapolated = phase == 0 && iterations >= EXTRAPOLATION_PERIOD
+                && extrapolate(workspace.rank, workspace.history, nodeCount);
+        return totalChange;
+    }
+
+    /**
+     * @return whether the ranks were replaced
+     */
+    private static boolean extrapolate(double[] rank, double[][] history, int nodeCount) {
+        double[] previous = history[0];
+        double[] second = history[1];
+        double[] third = history[2];
+        double aa = 0, ab = 0, bb = 0, ac = 0, bc = 0;
+        for (int v = 0; v < nodeCount; v++) {
+            double c = rank[v] - previous[v];
+            double a = previous[v] - second[v];
+            double b = second[v] - third[v];
+            aa += a * a;
+            ab += a * b;
+            bb += b * b;
+            ac += a * c;
+            bc += b * c;
+        }
+
+        double determinant = aa * bb - ab * ab;
+        if (!(Math.abs(determinant) > 1e-12 * aa * bb)) {
+            return false;
+        }
+        double p = (ac * bb - bc * ab) / determinant;
+        double q = (bc * aa - ac * ab) / determinant;
+        double scale = 1 - p - q;
+        if (!(Math.abs(scale) > 1e-9)) {
+            return false;
+        }
+
+        for (int v = 0; v < nodeCount; v++) {
+            if ((rank[v] - p * previous[v] - q * second[v]) / scale < 1 - DAMPING_FACTOR) {
+                return false;
+            }
+        }
+        for (int v = 0; v < nodeCount; v++) {
+            rank[v] = (rank[v] - p * previous[v] - q * second[v]) / scale;
+        }
+        return true;
+    }
+
+    /**
+     * Runs a Jacobi step over the first activeCount nodes of workspace.active only, pulling from their in-edges;
+     * frozen nodes keep their PR and contribution. Nodes that changed by less than FREEZE_RATIO * tolerance are
+     * then frozen, leaving workspace.activeCount nodes active.
+     *
+     * @return the total change in PR
+     */
+    private double updatePageRankActive(CsrGraph graph, PageRankWorkspace workspace, int activeCount) {
+        int[] offsets = graph.offsets();
+        CsrGraph incoming = graph.transpose();
+        int[] inOffsets = incoming.offsets();
+        int[] sources = incoming.targets();
+        double[] rank = workspace.rank;
+        double[] next = workspace.next;
+        double[] contribution = workspace.contribution;
+        int[] active = workspace.active;
+
+        for (int i = 0; i < activeCount; i++) {
+            int v = active[i];
+            double incomingPr = 0.0;
+            for (int e = inOffsets[v]; e < inOffsets[v + 1]; e++) {
+                incomingPr += contribution[sources[e]];
+            }
+            next[v] = (1 - DAMPING_FACTOR) + DAMPING_FACTOR * incomingPr;
+        }
+
+        double totalChange = 0.0;
+        double freezeBelow = FREEZE_RATIO * tolerance;
+        int stillActive = 0;
+        for (int i = 0; i < activeCount; i++) {
+            int v = active[i];
+            double change = Math.abs(rank[v] - next[v]);
+            totalChange += change;
+            rank[v] = next[v];
+            int degree = offsets[v + 1] - offsets[v];
+            contribution[v] = degree == 0 ? 0 : next[v] / degree;
+            if (change >= freezeBelow) {
+                active[stillActive++] = v;
+            }
+        }
+        workspace.activeCount = stillActive;
         return totalChange;
     }
 }
@@ -0,0 +1,92 @@
+package csi2510_project;
+
+/**
+ * The rank, next-rank and contribution vectors of a PageRank computation, kept between computations so that ranking
+ * many graphs, or the same graph many times, allocates nothing once the buffers are large enough.
+ * A workspace must only be used by one computation at a time.
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class PageRankWorkspace {
+    double[] rank = new double[0];
+    double[] next = new double[0];
+    double[] contribution = new double[0];
+    double[][] history = {new double[0], new double[0], new double[0]};    // previous iterates, for extrapolation
+    int[] active = new int[0];              // the nodes not yet frozen, for adaptive iteration
+    int activeCount;
+    float[] floatRank = new float[0];       // single precision vectors, for VectorPageRank
+    float[] floatNext = new float[0];
+    float[] floatContribution = new float[0];
+
+    /**
+     * Grows the buffers to hold at least nodeCount nodes, geometrically so a run of slightly larger graphs does not
+     * reallocate every time.
+     *
+     * @param nodeCount the number of nodes of the next graph
+     */
+    void ensureCapacity(int nodeCount) {
+        if (rank.length < nodeCount) {
+            int capacity = Math.max(nodeCount, (int) Math.min(Integer.MAX_VALUE - 8, rank.length * 3L / 2));
+            rank = new double[capacity];
+            next = new double[capacity];
+            contribution = new double[capacity];
+        }
+    }
+
+    /**
+     * Grows the buffers holding the previous three iterates.
+     */
+    void ensureHistory(int nodeCount) {
+        for (int i = 0; i < history.length; i++) {
+            if (history[i].length < nodeCount) {
+                history[i] = new double[rank.length];
+            }
+        }
+    }
+
+    /**
+     * Grows the buffer of active nodes.
+     */
+    void ensureActive(int nodeCount) {
+        if (active.length < nodeCount) {
+            active = new int[rank.length];
+        }
+    }
+
+    /**
+     * Grows the single precision buffers, geometrically as ensureCapacity does.
+     */
+    void ensureFloatCapacity(int nodeCount) {
+        if (floatRank.length < nodeCount) {
+            int capacity = Math.max(nodeCount, (int) Math.min(Integer.MAX_VALUE - 8, floatRank.length * 3L / 2));
+            floatRank = new float[capacity];
+            floatNext = new float[capacity];
+            floatContribution = new float[capacity];
+        }
+    }
+
+    /**
+     * Exchanges the rank and next-rank buffers at the end of an iteration.
+     */
+    void swap() {
+        double[] swap = rank;
+        rank = next;
+        next = swap;
+    }
+
+    /**
+     * Exchanges the single precision rank and next-rank buffers.
+     */
+    void swapFloat() {
+        float[] swap = floatRank;
+        floatRank = floatNext;
+        floatNext = swap;
+    }
+
+    /**
+     * Returns the number of nodes the buffers can hold.
+     */
+    public int capacity() {
+        return rank.length;
+    }
+}
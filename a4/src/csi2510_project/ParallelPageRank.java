@@ -0,0 +1,233 @@
+package csi2510_project;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Computes the same PageRank as PageRank, split across a fork-join pool. Each iteration pulls over the transposed
+ * graph: the nodes are cut into ranges of roughly equal in-degree and every task computes
+ * PR(A) = (1-d) + d (PR(T1)/C(T1) + ... + PR(Tn)/C(Tn)) for its own range, reading the previous iteration's
+ * contributions PR(T)/C(T) and writing only its own slice of the arrays, so no atomics or locks are needed.
+ *
+ * The per-range changes are summed in range order, so a given graph and thread count always give the same result.
+ *
+ * An instance given a thread count creates its own pool, which close() shuts down; a pool passed in is left running.
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class ParallelPageRank implements AutoCloseable {
+    private static final int RANGES_PER_THREAD = 8;    // more ranges than threads so work stealing can balance
+
+    private final double tolerance;                    // tolerance to stop
+    private final long maxIter;                        // max iterations to stop
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+    private int iterations;
+    private double meanChange;
+
+    ParallelPageRank() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    ParallelPageRank(int threads) {
+        this(0.000001, 100, threads);
+    }
+
+    ParallelPageRank(double tolerance, long maxIter, int threads) {
+        this(tolerance, maxIter, new ForkJoinPool(threads), true);
+    }
+
+    /**
+     * @param pool the pool to run on, which may be shared and is not shut down by close()
+     */
+    ParallelPageRank(double tolerance, long maxIter, ForkJoinPool pool) {
+        this(tolerance, maxIter, pool, false);
+    }
+
+    private ParallelPageRank(double tolerance, long maxIter, ForkJoinPool pool, boolean ownsPool) {
+        this.tolerance = tolerance;
+        this.maxIter = maxIter;
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+    }
+
+    /**
+     * Computes the PageRank (PR) of each node in a graph.
+     * Iteration stops as soon as this.maxIter or this.tolerance whichever is reached first.
+     *
+     * @param graph the Graph to compute PR for
+     * @return returns a Map<Integer, Double> mapping each node to its PR
+     */
+    public Map<Integer, Double> computePageRank(Graph graph) {
+        long startTime = System.currentTimeMillis();
+        CsrGraph csr = CsrGraph.of(graph);
+        double[] rank = computePageRank(csr);
+
+        Map<Integer, Double> pageRank = new HashMap<>(csr.nodeCount() * 2);
+        for (int i = 0; i < rank.length; i++) {
+            pageRank.put(csr.nodeId(i), rank[i]);
+        }
+
+        System.out.println("Computed page rank in " + iterations + " iterations after " + (System.currentTimeMillis() - startTime) + " ms on " + pool.getParallelism() + " threads");
+        System.out.println("Mean change in page rank in last iteration: " + meanChange);
+        return pageRank;
+    }
+
+    /**
+     * Computes the PageRank of each node of a graph in CSR form.
+     *
+     * O(V + E) per iteration, divided across the pool's threads
+     *
+     * @param graph the graph
+     * @return the PR of each node, by dense index
+     */
+    public double[] computePageRank(CsrGraph graph) {
+        int nodeCount = graph.nodeCount();
+        CsrGraph incoming = graph.transpose();
+        int[] bounds = partition(incoming, pool.getParallelism() * RANGES_PER_THREAD);
+        double[] rank = new double[nodeCount];
+        double[] contribution = new double[nodeCount];
+        double[] nextContribution = new double[nodeCount];
+        double[] changes = new double[bounds.length - 1];
+
+        for (int u = 0; u < nodeCount; u++) {
+            rank[u] = PageRank.STARTING_PAGE_RANK;
+            int degree = graph.outDegree(u);
+            contribution[u] = degree == 0 ? 0 : PageRank.STARTING_PAGE_RANK / degree;
+        }
+
+        meanChange = Double.MAX_VALUE;
+        iterations = 0;
+        while (meanChange > tolerance && iterations < maxIter) {
+            iterations++;
+            pool.invoke(new Pull(graph.offsets(), incoming, bounds, 0, bounds.length - 1,
+                    rank, contribution, nextContribution, changes));
+
+            double totalChange = 0.0;
+            for (double change : changes) {
+                totalChange += change;
+            }
+            meanChange = nodeCount == 0 ? 0 : totalChange / nodeCount;
+
+            double[] swap = contribution;
+            contribution = nextContribution;
+            nextContribution = swap;
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the number of iterations run by the last computation.
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Returns the mean change in PR in the last iteration of the last computation.
+     */
+    public double getMeanChange() {
+        return meanChange;
+    }
+
+    /**
+     * Shuts down the pool this instance created.
+     */
+    public void close() {
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Cuts the nodes into ranges of roughly equal cost, counting each node and each of its in-edges once, since
+     * the in-degrees of real graphs are far too skewed to split by node count.
+     *
+     * O(ranges log(V))
+     *
+     * @return ranges + 1 bounds, the ith range being [bounds[i], bounds[i + 1])
+     */
+    private static int[] partition(CsrGraph incoming, int ranges) {
+        int nodeCount = incoming.nodeCount();
+        int[] offsets = incoming.offsets();
+        ranges = Math.max(1, Math.min(ranges, nodeCount));
+        long totalCost = (long) nodeCount + offsets[nodeCount];
+        int[] bounds = new int[ranges + 1];
+        bounds[ranges] = nodeCount;
+
+        for (int r = 1; r < ranges; r++) {
+            long cost = totalCost * r / ranges;
+            int low = bounds[r - 1];
+            int high = nodeCount;
+            while (low < high) {    // first node whose cumulative cost reaches cost
+                int mid = (low + high) >>> 1;
+                if ((long) mid + offsets[mid] < cost) {
+                    low = mid + 1;
+                }
+                else {
+                    high = mid;
+                }
+            }
+            bounds[r] = low;
+        }
+        return bounds;
+    }
+
+    /**
+     * Updates the nodes of ranges [first, last), splitting in half until a single range is left.
+     */
+    private static class Pull extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] outOffsets;
+        private final CsrGraph incoming;
+        private final int[] bounds;
+        private final int first;
+        private final int last;
+        private final double[] rank;
+        private final double[] contribution;
+        private final double[] nextContribution;
+        private final double[] changes;
+
+        Pull(int[] outOffsets, CsrGraph incoming, int[] bounds, int first, int last,
+             double[] rank, double[] contribution, double[] nextContribution, double[] changes) {
+            this.outOffsets = outOffsets;
+            this.incoming = incoming;
+            this.bounds = bounds;
+            this.first = first;
+            this.last = last;
+            this.rank = rank;
+            this.contribution = contribution;
+            this.nextContribution = nextContribution;
+            this.changes = changes;
+        }
+
+        protected void compute() {
+            if (last - first > 1) {
+                int middle = (first + last) >>> 1;
+                invokeAll(new Pull(outOffsets, incoming, bounds, first, middle, rank, contribution, nextContribution, changes),
+                          new Pull(outOffsets, incoming, bounds, middle, last, rank, contribution, nextContribution, changes));
+                return;
+            }
+
+            int[] inOffsets = incoming.offsets();
+            int[] sources = incoming.targets();
+            double totalChange = 0.0;
+            for (int v = bounds[first]; v < bounds[last]; v++) {
+                double incomingPr = 0.0;
+                for (int e = inOffsets[v]; e < inOffsets[v + 1]; e++) {
+                    incomingPr += contribution[sources[e]];
+                }
+                double newPageRank = (1 - PageRank.DAMPING_FACTOR) + PageRank.DAMPING_FACTOR * incomingPr;
+                totalChange += Math.abs(rank[v] - newPageRank);
+                rank[v] = newPageRank;
+
+                int degree = outOffsets[v + 1] - outOffsets[v];
+                nextContribution[v] = degree == 0 ? 0 : newPageRank / degree;
+            }
+            changes[first] = totalChange;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package csi2510_project;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Computes PageRank as a probability distribution: with a teleport vector t summing to 1,
+ * PR(A) = (1-d) t(A) + d (PR(T1)/C(T1) + ... + PR(Tn)/C(Tn) + D t(A))
+ * where D is the total rank of the dangling nodes, those without out-edges. Rather than leaking out of the graph
+ * as in PageRank, the rank of a dangling node is redistributed along the teleport vector, so the ranks always sum
+ * to 1. A uniform teleport vector gives the global PageRank, one concentrated on some seed nodes gives their
+ * personalized PageRank.
+ *
+ * Several teleport vectors are ranked together: their ranks are interleaved node by node, so a single pass over
+ * the edges advances every vector of a batch and the inner loop runs over contiguous memory.
+ *
+ * Each vector stops on its own, as it would if ranked alone: once its total (L1) change in an iteration is at most
+ * the tolerance its ranks are kept as they are while the rest of its batch carries on, so a batch gives exactly the
+ * ranks of computing each vector by itself. Vectors still changing stop after maxIter iterations.
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class PersonalizedPageRank {
+    public static final int BATCH_SIZE = 16;    // teleport vectors advanced per pass over the edges
+
+    private final double tolerance;             // tolerance to stop
+    private final long maxIter;                 // max iterations to stop
+    private int iterations;
+
+    PersonalizedPageRank() {
+        this(0.000001, 100);
+    }
+
+    PersonalizedPageRank(double tolerance, long maxIter) {
+        this.tolerance = tolerance;
+        this.maxIter = maxIter;
+    }
+
+    /**
+     * Computes the global PageRank of each node, with dangling rank redistributed uniformly.
+     *
+     * @param graph the Graph to compute PR for
+     * @return returns a Map<Integer, Double> mapping each node to its PR, the PRs summing to 1
+     */
+    public Map<Integer, Double> computePageRank(Graph graph) {
+        CsrGraph csr = CsrGraph.of(graph);
+        double[] rank = computePageRank(csr, (double[]) null);
+
+        Map<Integer, Double> pageRank = new HashMap<>(csr.nodeCount() * 2);
+        for (int i = 0; i < rank.length; i++) {
+            pageRank.put(csr.nodeId(i), rank[i]);
+        }
+        return pageRank;
+    }
+
+    /**
+     * Computes the PageRank of each node for one teleport vector.
+     *
+     * O(V + E) per iteration
+     *
+     * @param graph    the graph
+     * @param teleport a non-negative weight for each node by dense index, normalized to sum to 1, or null for the
+     *                 uniform vector
+     * @return the PR of each node, by dense index
+     * @throws IllegalArgumentException if the teleport vector has the wrong length, a negative or non-finite weight,
+     *                                  or weights summing to 0
+     */
+    public double[] computePageRank(CsrGraph graph, double[] teleport) {
+        if (teleport == null) {
+            teleport = new double[graph.nodeCount()];
+            Arrays.fill(teleport, 1.0);
+        }
+        return computePageRanks(graph, new double[][] {teleport})[0];
+    }
+
+    /**
+     * Computes the PageRank of each node for several teleport vectors, BATCH_SIZE vectors per pass over the edges.
+     *
+     * O(V + E) per iteration per batch
+     *
+     * @param graph     the graph
+     * @param teleports non-negative weights for each node by dense index, each vector normalized to sum to 1
+     * @return the PRs of each node by dense index, for each teleport vector
+     * @throws IllegalArgumentException if a teleport vector has the wrong length, a negative or non-finite weight,
+     *                                  or weights summing to 0
+     */
+    public double[][] computePageRanks(CsrGraph graph, double[][] teleports) {
+        int nodeCount = graph.nodeCount();
+        for (int i = 0; i < teleports.length; i++) {
+            if (teleports[i] == null) {
+                throw new IllegalArgumentException("Teleport vector " + i + " is null");
+            }
+            if (teleports[i].length != nodeCount) {
+                throw new IllegalArgumentException("Teleport vector " + i + " has " + teleports[i].length
+                        + " weights for " + nodeCount + " nodes");
+            }
+        }
+
+        double[][] ranks = new double[teleports.length][];
+        if (nodeCount == 0) {
+            // Nothing to rank, and no weight to normalize
+            Arrays.fill(ranks, new double[0]);
+            iterations = 0;
+            return ranks;
+        }
+
+        int totalIterations = 0;
+        for (int first = 0; first < teleports.length; first += BATCH_SIZE) {
+            int width = Math.min(BATCH_SIZE, teleports.length - first);
+            double[] teleport = new double[nodeCount * width];
+            for (int j = 0; j < width; j++) {
+                interleave(normalize(teleports[first + j], first + j), teleport, j, width);
+            }
+
+            double[] rank = computeBatch(graph, teleport, width);
+            totalIterations = Math.max(totalIterations, iterations);
+            for (int j = 0; j < width; j++) {
+                ranks[first + j] = deinterleave(rank, j, width, nodeCount);
+            }
+        }
+        iterations = totalIterations;
+        return ranks;
+    }
+
+    /**
+     * Computes the personalized PageRank of each seed node: the ranks when every teleport returns to that seed.
+     *
+     * O(V + E) per iteration per batch of BATCH_SIZE seeds
+     *
+     * @param graph the graph
+     * @param seeds the dense index of each seed node
+     * @return the PRs of each node by dense index, for each seed
+     * @throws IllegalArgumentException if a seed is not a node of the graph
+     */
+    public double[][] computeForSeeds(CsrGraph graph, int[] seeds) {
+        int nodeCount = graph.nodeCount();
+        double[][] ranks = new double[seeds.length][];
+        int totalIterations = 0;
+        for (int first = 0; first < seeds.length; first += BATCH_SIZE) {
+            int width = Math.min(BATCH_SIZE, seeds.length - first);
+            double[] teleport = new double[nodeCount * width];
+            for (int j = 0; j < width; j++) {
+                int seed = seeds[first + j];
+                if (seed < 0 || seed >= nodeCount) {
+                    throw new IllegalArgumentException("Seed is not a node: " + seed);
+                }
+                teleport[seed * width + j] = 1.0;
+            }
+
+            double[] rank = computeBatch(graph, teleport, width);
+            totalIterations = Math.max(totalIterations, iterations);
+            for (int j = 0; j < width; j++) {
+                ranks[first + j] = deinterleave(rank, j, width, nodeCount);
+            }
+        }
+        iterations = totalIterations;
+        return ranks;
+    }
+
+    /**
+     * Returns the number of iterations run by the last computation, the most of any of its batches.
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Iterates a batch of interleaved teleport vectors, rank[v * width + j] being the rank of node v for vector j.
+     * A vector whose change is within tolerance is converged, and its ranks are carried over unchanged from then on.
+     *
+     * @return the interleaved ranks
+     */
+    private double[] computeBatch(CsrGraph graph, double[] teleport, int width) {
+        int nodeCount = graph.nodeCount();
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        double[] rank = teleport.clone();
+        double[] next = new double[rank.length];
+        double[] dangling = new double[width];
+        double[] change = new double[width];
+        boolean[] converged = new boolean[width];
+
+        int active = width;
+        iterations = 0;
+        while (active > 0 && iterations < maxIter) {
+            iterations++;
+            Arrays.fill(next, 0.0);
+            Arrays.fill(dangling, 0.0);
+            for (int u = 0; u < nodeCount; u++) {
+                int degree = offsets[u + 1] - offsets[u];
+                int from = u * width;
+                if (degree == 0) {
+                    for (int j = 0; j < width; j++) {
+                        dangling[j] += rank[from + j];
+                    }
+                    continue;
+                }
+
+                double share = 1.0 / degree;
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int to = targets[e] * width;
+                    for (int j = 0; j < width; j++) {
+                        next[to + j] += rank[from + j] * share;
+                    }
+                }
+            }
+
+            // Teleporting and leaving a dangling node both land according to the teleport vector
+            for (int j = 0; j < width; j++) {
+                dangling[j] = (1 - PageRank.DAMPING_FACTOR) + PageRank.DAMPING_FACTOR * dangling[j];
+            }
+            Arrays.fill(change, 0.0);
+            for (int v = 0; v < nodeCount; v++) {
+                int at = v * width;
+                for (int j = 0; j < width; j++) {
+                    if (converged[j]) {
+                        next[at + j] = rank[at + j];
+                        continue;
+                    }
+                    double newPageRank = PageRank.DAMPING_FACTOR * next[at + j] + dangling[j] * teleport[at + j];
+                    change[j] += Math.abs(newPageRank - rank[at + j]);
+                    next[at + j] = newPageRank;
+                }
+            }
+
+            double[] swap = rank;
+            rank = next;
+            next = swap;
+            for (int j = 0; j < width; j++) {
+                if (!converged[j] && change[j] <= tolerance) {
+                    converged[j] = true;
+                    active--;
+                }
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * @param i the position of the vector among those being ranked, for error messages
+     */
+    private static double[] normalize(double[] teleport, int i) {
+        double sum = 0.0;
+        for (int v = 0; v < teleport.length; v++) {
+            double weight = teleport[v];
+            if (weight < 0) {
+                throw new IllegalArgumentException("Teleport vector " + i + " has a negative weight at node " + v
+                        + ": " + weight);
+            }
+            if (!Double.isFinite(weight)) {
+                throw new IllegalArgumentException("Teleport vector " + i + " has a non-finite weight at node " + v
+                        + ": " + weight);
+            }
+            sum += weight;
+        }
+        if (!(sum > 0) || sum == Double.POSITIVE_INFINITY) {
+            throw new IllegalArgumentException("Teleport vector " + i + " has weights summing to " + sum);
+        }
+
+        double[] normalized = new double[teleport.length];
+        for (int v = 0; v < teleport.length; v++) {
+            normalized[v] = teleport[v] / sum;
+        }
+        return normalized;
+    }
+
+    private static void interleave(double[] vector, double[] interleaved, int j, int width) {
+        for (int v = 0; v < vector.length; v++) {
+            interleaved[v * width + j] = vector[v];
+        }
+    }
+
+    private static double[] deinterleave(double[] interleaved, int j, int width, int nodeCount) {
+        double[] vector = new double[nodeCount];
+        for (int v = 0; v < nodeCount; v++) {
+            vector[v] = interleaved[v * width + j];
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,208 @@
+package csi2510_project;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps the PageRank of a time window [from, to) of a TemporalGraph as the window slides. Moving the window
+ * forwards only adds the rows that entered it and removes the rows that left, and an IncrementalPageRank brings the
+ * ranks up to date from the previous window's, so consecutive windows share nearly all their work.
+ *
+ * Each distinct edge keeps a count of its rows in the window: the edge is added to the graph when its count becomes
+ * 1 and removed when it returns to 0, so the window graph is the one TemporalGraph.window() builds. Nodes stay in
+ * the IncrementalPageRank after their last edge leaves, where they rank 1 - d without affecting any other node, but
+ * only nodes with a row in the window are reported.
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class SlidingWindowPageRank {
+    private final TemporalGraph graph;
+    private final double epsilon;
+    private final int[] multiplicity;    // rows in the window of each edge of graph.graph()
+    private final int[] incident;        // rows in the window touching each node of graph.graph()
+    private IncrementalPageRank pageRank;
+    private int first;                   // rows first .. end - 1 are in the window
+    private int end;
+    private int nodeCount;               // nodes with a row in the window
+    private long pushes;                 // pushes by previous IncrementalPageRanks
+
+    SlidingWindowPageRank(TemporalGraph graph) {
+        this(graph, 0.00001);
+    }
+
+    /**
+     * Starts with an empty window.
+     *
+     * @param graph   the rows to rank windows of
+     * @param epsilon the largest residual to leave, as for IncrementalPageRank
+     */
+    SlidingWindowPageRank(TemporalGraph graph, double epsilon) {
+        this.graph = graph;
+        this.epsilon = epsilon;
+        this.multiplicity = new int[graph.graph().edgeCount()];
+        this.incident = new int[graph.graph().nodeCount()];
+        this.pageRank = new IncrementalPageRank(new CsrGraph.Builder().build(), null, epsilon);
+    }
+
+    /**
+     * Ranks consecutive windows of an edge list file and compares against rebuilding each window from scratch.
+     *
+     * @param args the edge list file, the window length, and the step between windows, in timestamp units
+     */
+    public static void main(String[] args) throws IOException {
+        long startTime = System.currentTimeMillis();
+        TemporalGraph graph = TemporalGraph.read(Paths.get(args[0]));
+        long length = Long.parseLong(args[1]);
+        long step = Long.parseLong(args[2]);
+        System.out.println("Read " + graph.rowCount() + " rows after " + (System.currentTimeMillis() - startTime) + " ms");
+
+        startTime = System.currentTimeMillis();
+        SlidingWindowPageRank sliding = new SlidingWindowPageRank(graph);
+        int windows = 0;
+        for (long from = graph.firstTimestamp(); from <= graph.lastTimestamp(); from += step, windows++) {
+            sliding.slide(from, from + length);
+        }
+        System.out.println("Slid over " + windows + " windows in " + sliding.getPushCount() + " pushes after " + (System.currentTimeMillis() - startTime) + " ms");
+
+        startTime = System.currentTimeMillis();
+        PageRank rebuilt = new PageRank();
+        long sweeps = 0;
+        for (long from = graph.firstTimestamp(); from <= graph.lastTimestamp(); from += step) {
+            CsrGraph window = graph.window(from, from + length);
+            rebuilt.computePageRank(window);
+            sweeps += (long) rebuilt.getIterations() * window.nodeCount();
+        }
+        System.out.println("Rebuilt " + windows + " windows in " + sweeps + " node updates after " + (System.currentTimeMillis() - startTime) + " ms");
+    }
+
+    /**
+     * Moves the window to [from, to) and brings the ranks up to date. A window that starts and ends no earlier than
+     * the last one and overlaps it is updated incrementally; any other window is ranked from scratch.
+     *
+     * O(C log R + pushes) for the C rows that enter or leave the window
+     *
+     * @param from the first time in the window
+     * @param to   the first time after the window
+     */
+    public void slide(long from, long to) {
+        int newFirst = graph.rowAt(from);
+        int newEnd = Math.max(newFirst, graph.rowAt(to));
+        if (newFirst < first || newEnd < end || newFirst >= end) {
+            rebuild(newFirst, newEnd);
+            return;
+        }
+
+        // Add before removing, so an edge that stays in the window is never removed and added again
+        for (int r = end; r < newEnd; r++) {
+            if (multiplicity[graph.edge(r)]++ == 0) {
+                pageRank.addEdge(nodeId(graph.source(r)), nodeId(graph.target(r)));
+            }
+            enter(r);
+        }
+        for (int r = first; r < newFirst; r++) {
+            if (--multiplicity[graph.edge(r)] == 0) {
+                pageRank.removeEdge(nodeId(graph.source(r)), nodeId(graph.target(r)));
+            }
+            leave(r);
+        }
+        first = newFirst;
+        end = newEnd;
+        pageRank.propagate();
+    }
+
+    /**
+     * Empties the window, then ranks rows first .. end - 1 from scratch.
+     */
+    private void rebuild(int newFirst, int newEnd) {
+        for (int r = first; r < end; r++) {
+            multiplicity[graph.edge(r)]--;
+            leave(r);
+        }
+        for (int r = newFirst; r < newEnd; r++) {
+            multiplicity[graph.edge(r)]++;
+            enter(r);
+        }
+        first = newFirst;
+        end = newEnd;
+
+        pushes += pageRank.getPushCount();
+        CsrGraph.Builder builder = new CsrGraph.Builder(nodeCount, true);
+        for (int r = first; r < end; r++) {
+            builder.addEdge(nodeId(graph.source(r)), nodeId(graph.target(r)));
+        }
+        pageRank = new IncrementalPageRank(builder.build(), null, epsilon);
+    }
+
+    private void enter(int row) {
+        if (incident[graph.source(row)]++ == 0) {
+            nodeCount++;
+        }
+        if (incident[graph.target(row)]++ == 0) {
+            nodeCount++;
+        }
+    }
+
+    private void leave(int row) {
+        if (--incident[graph.source(row)] == 0) {
+            nodeCount--;
+        }
+        if (--incident[graph.target(row)] == 0) {
+            nodeCount--;
+        }
+    }
+
+    private int nodeId(int node) {
+        return graph.graph().nodeId(node);
+    }
+
+    /****************************************************************************************************************
+     * Ranks
+     ****************************************************************************************************************/
+
+    /**
+     * Returns the number of nodes with a row in the window.
+     */
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Returns the PR of a node in the window.
+     *
+     * @param id a node id
+     * @return its PR
+     * @throws IllegalArgumentException if the node has no row in the window
+     */
+    public double getPageRank(int id) {
+        int node = graph.graph().indexOf(id);
+        if (node < 0 || incident[node] == 0) {
+            throw new IllegalArgumentException("Node not in window: " + id);
+        }
+        return pageRank.getPageRank(id);
+    }
+
+    /**
+     * Returns a Map<Integer, Double> mapping each node with a row in the window to its PR.
+     *
+     * O(V) for all V nodes of the TemporalGraph
+     */
+    public Map<Integer, Double> getPageRank() {
+        Map<Integer, Double> ranks = new HashMap<>(nodeCount * 2);
+        for (int node = 0; node < incident.length; node++) {
+            if (incident[node] > 0) {
+                int id = nodeId(node);
+                ranks.put(id, pageRank.getPageRank(id));
+            }
+        }
+        return ranks;
+    }
+
+    /**
+     * Returns the total number of pushes so far, over every window.
+     */
+    public long getPushCount() {
+        return pushes + pageRank.getPushCount();
+    }
+}
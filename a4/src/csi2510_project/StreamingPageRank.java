@@ -0,0 +1,123 @@
+package csi2510_project;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Computes the same PageRank as PageRank on a graph kept on disk in an AdjacencyFile. Only the rank vectors are held
+ * in memory; every iteration streams the adjacency records from the file once and pushes each node's contribution
+ * PR/C along its out-edges, so memory is O(V) however many edges there are.
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class StreamingPageRank {
+    private final double tolerance;    // tolerance to stop
+    private final long maxIter;        // max iterations to stop
+    private int iterations;
+    private double meanChange;
+
+    StreamingPageRank() {
+        this(0.000001, 100);
+    }
+
+    StreamingPageRank(double tolerance, long maxIter) {
+        this.tolerance = tolerance;
+        this.maxIter = maxIter;
+    }
+
+    /**
+     * Converts an edge list file to an adjacency file if it is not one already, then ranks it.
+     *
+     * @param args the edge list file and the adjacency file to write, or just an adjacency file
+     */
+    public static void main(String[] args) throws IOException {
+        long startTime = System.currentTimeMillis();
+        AdjacencyFile graph = args.length > 1
+                ? AdjacencyFile.write(Paths.get(args[0]), Paths.get(args[1]))
+                : AdjacencyFile.open(Paths.get(args[0]));
+        System.out.println("Opened " + graph.nodeCount() + " nodes and " + graph.edgeCount() + " edges after " + (System.currentTimeMillis() - startTime) + " ms");
+
+        startTime = System.currentTimeMillis();
+        StreamingPageRank pageRank = new StreamingPageRank();
+        pageRank.computePageRank(graph);
+        System.out.println("Computed page rank in " + pageRank.getIterations() + " iterations after " + (System.currentTimeMillis() - startTime) + " ms");
+        System.out.println("Mean change in page rank in last iteration: " + pageRank.getMeanChange());
+    }
+
+    /**
+     * Computes the PageRank (PR) of each node of an adjacency file.
+     * Iteration stops as soon as this.maxIter or this.tolerance whichever is reached first.
+     *
+     * @param graph the adjacency file to compute PR for
+     * @return returns a Map<Integer, Double> mapping each node to its PR
+     * @throws IOException if the file cannot be read
+     */
+    public Map<Integer, Double> computePageRankMap(AdjacencyFile graph) throws IOException {
+        double[] rank = computePageRank(graph);
+        Map<Integer, Double> pageRank = new HashMap<>(graph.nodeCount() * 2);
+        for (int i = 0; i < rank.length; i++) {
+            pageRank.put(graph.nodeId(i), rank[i]);
+        }
+        return pageRank;
+    }
+
+    /**
+     * Computes the PageRank of each node of an adjacency file.
+     *
+     * O(V + E) per iteration, E of it read from disk
+     *
+     * @param graph the adjacency file
+     * @return the PR of each node, by dense index
+     * @throws IOException if the file cannot be read
+     */
+    public double[] computePageRank(AdjacencyFile graph) throws IOException {
+        int nodeCount = graph.nodeCount();
+        double[] rank = new double[nodeCount];
+        double[] next = new double[nodeCount];
+        Arrays.fill(rank, PageRank.STARTING_PAGE_RANK);
+
+        meanChange = Double.MAX_VALUE;
+        iterations = 0;
+        while (meanChange > tolerance && iterations < maxIter) {
+            iterations++;
+            double[] current = rank;
+            double[] incoming = next;
+            Arrays.fill(incoming, 0.0);
+            graph.forEachAdjacency((node, targets, degree) -> {
+                double pageRankFromNode = current[node] / degree;
+                for (int i = 0; i < degree; i++) {
+                    incoming[targets[i]] += pageRankFromNode;
+                }
+            });
+
+            double totalChange = 0.0;
+            for (int v = 0; v < nodeCount; v++) {
+                double newPageRank = (1 - PageRank.DAMPING_FACTOR) + PageRank.DAMPING_FACTOR * incoming[v];
+                totalChange += Math.abs(current[v] - newPageRank);
+                incoming[v] = newPageRank;
+            }
+            meanChange = nodeCount == 0 ? 0 : totalChange / nodeCount;
+
+            rank = incoming;
+            next = current;
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the number of iterations run by the last computation.
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Returns the mean change in PR in the last iteration of the last computation.
+     */
+    public double getMeanChange() {
+        return meanChange;
+    }
+}
@@ -0,0 +1,309 @@
+package csi2510_project;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Every row of a timestamped edge list, duplicates included, sorted by timestamp, so the graph of any time window
+ * [from, to) is a contiguous run of rows found by binary search.
+ *
+ * Rows are stored as dense indices into graph(), the distinct graph of all rows, along with the position of their
+ * edge in it, so windows can count rows per node and per distinct edge in plain arrays. Rows without a timestamp
+ * sort first, at EdgeListReader.NO_TIMESTAMP.
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class TemporalGraph {
+    private final CsrGraph graph;       // the distinct graph of all rows
+    private final int[] sources;        // dense index of each row's source, in timestamp order
+    private final int[] targets;        // dense index of each row's target
+    private final int[] edges;          // position of each row's edge in graph
+    private final long[] timestamps;    // each row's timestamp, ascending
+
+    private TemporalGraph(CsrGraph graph, int[] sources, int[] targets, int[] edges, long[] timestamps) {
+        this.graph = graph;
+        this.sources = sources;
+        this.targets = targets;
+        this.edges = edges;
+        this.timestamps = timestamps;
+    }
+
+    /**
+     * Reads a timestamped edge list file.
+     *
+     * O(V + R log R) for R rows
+     *
+     * @param path the edge list file
+     * @return the rows, sorted by timestamp
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    public static TemporalGraph read(Path path) throws IOException {
+        RowCollector rows = new RowCollector();
+        new EdgeListReader().read(path, rows);
+        return rows.build();
+    }
+
+    /**
+     * Reads a timestamped edge list from a stream. The stream is not closed.
+     *
+     * O(V + R log R) for R rows
+     *
+     * @param in the edge list
+     * @return the rows, sorted by timestamp
+     * @throws IOException if the stream cannot be read or is malformed
+     */
+    public static TemporalGraph read(InputStream in) throws IOException {
+        RowCollector rows = new RowCollector();
+        new EdgeListReader().read(in, rows);
+        return rows.build();
+    }
+
+    /**
+     * Builds the distinct graph while keeping every (from, to, timestamp) row.
+     */
+    private static class RowCollector implements EdgeListReader.EdgeVisitor {
+        private final CsrGraph.Builder builder = new CsrGraph.Builder(1024, true);
+        private int[] from = new int[1024];
+        private int[] to = new int[1024];
+        private long[] timestamps = new long[1024];
+        private int rowCount;
+
+        public void edge(int from, int to, long timestamp) {
+            builder.addEdge(from, to);
+            if (rowCount == timestamps.length) {
+                this.from = Arrays.copyOf(this.from, rowCount * 2);
+                this.to = Arrays.copyOf(this.to, rowCount * 2);
+                timestamps = Arrays.copyOf(timestamps, rowCount * 2);
+            }
+            this.from[rowCount] = from;
+            this.to[rowCount] = to;
+            timestamps[rowCount] = timestamp;
+            rowCount++;
+        }
+
+        TemporalGraph build() {
+            CsrGraph graph = builder.build();
+            int[] sources = new int[rowCount];
+            int[] targets = new int[rowCount];
+            for (int r = 0; r < rowCount; r++) {
+                sources[r] = graph.indexOf(from[r]);
+                targets[r] = graph.indexOf(to[r]);
+            }
+            int[] edges = edgePositions(graph, sources, targets);
+
+            int[] order = sortByTimestamp(timestamps, rowCount);
+            int[] sortedSources = new int[rowCount];
+            int[] sortedTargets = new int[rowCount];
+            int[] sortedEdges = new int[rowCount];
+            long[] sortedTimestamps = new long[rowCount];
+            for (int i = 0; i < rowCount; i++) {
+                int r = order[i];
+                sortedSources[i] = sources[r];
+                sortedTargets[i] = targets[r];
+                sortedEdges[i] = edges[r];
+                sortedTimestamps[i] = timestamps[r];
+            }
+            return new TemporalGraph(graph, sortedSources, sortedTargets, sortedEdges, sortedTimestamps);
+        }
+    }
+
+    /**
+     * Returns the position in a graph of the edge of each row.
+     *
+     * O(V + R)
+     */
+    private static int[] edgePositions(CsrGraph graph, int[] sources, int[] targets) {
+        int nodeCount = graph.nodeCount();
+        int rowCount = sources.length;
+        int[] offsets = graph.offsets();
+        int[] graphTargets = graph.targets();
+
+        // Group the rows by source with a counting sort
+        int[] rowOffsets = new int[nodeCount + 1];
+        for (int r = 0; r < rowCount; r++) {
+            rowOffsets[sources[r] + 1]++;
+        }
+        for (int i = 0; i < nodeCount; i++) {
+            rowOffsets[i + 1] += rowOffsets[i];
+        }
+        int[] next = Arrays.copyOf(rowOffsets, nodeCount);
+        int[] bySource = new int[rowCount];
+        for (int r = 0; r < rowCount; r++) {
+            bySource[next[sources[r]]++] = r;
+        }
+
+        int[] edges = new int[rowCount];
+        int[] edgeOf = new int[nodeCount];    // position of u -> v among u's edges, for the current u
+        for (int u = 0; u < nodeCount; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                edgeOf[graphTargets[e]] = e;
+            }
+            for (int i = rowOffsets[u]; i < rowOffsets[u + 1]; i++) {
+                edges[bySource[i]] = edgeOf[targets[bySource[i]]];
+            }
+        }
+        return edges;
+    }
+
+    /**
+     * Returns the rows in ascending timestamp order, keeping rows with equal timestamps in file order. A bottom-up
+     * merge sort, which skips the merge of runs already in order, so a file that is mostly sorted costs close to
+     * O(R).
+     *
+     * O(R log R)
+     */
+    private static int[] sortByTimestamp(long[] timestamps, int rowCount) {
+        int[] order = new int[rowCount];
+        int[] merged = new int[rowCount];
+        for (int r = 0; r < rowCount; r++) {
+            order[r] = r;
+        }
+        for (int width = 1; width < rowCount; width *= 2) {
+            for (int lo = 0; lo < rowCount - width; lo += 2 * width) {
+                int mid = lo + width;
+                int hi = Math.min(lo + 2 * width, rowCount);
+                if (timestamps[order[mid - 1]] <= timestamps[order[mid]]) {
+                    continue;
+                }
+                int i = lo;
+                int j = mid;
+                for (int k = lo; k < hi; k++) {
+                    if (j >= hi || (i < mid && timestamps[order[i]] <= timestamps[order[j]])) {
+                        merged[k] = order[i++];
+                    }
+                    else {
+                        merged[k] = order[j++];
+                    }
+                }
+                System.arraycopy(merged, lo, order, lo, hi - lo);
+            }
+        }
+        return order;
+    }
+
+    /****************************************************************************************************************
+     * Windows
+     ****************************************************************************************************************/
+
+    /**
+     * Returns the first row with a timestamp of at least a given time, or rowCount() if there is none.
+     *
+     * O(log R)
+     *
+     * @param timestamp the time
+     */
+    public int rowAt(long timestamp) {
+        int lo = 0;
+        int hi = timestamps.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (timestamps[mid] < timestamp) {
+                lo = mid + 1;
+            }
+            else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Returns the graph of the rows with timestamps in [from, to), dropping duplicate edges. Node ids get dense
+     * indices in the order they are first seen in the window.
+     *
+     * O(V' + E') expected for the V' nodes and E' rows in the window
+     *
+     * @param from the first time in the window
+     * @param to   the first time after the window
+     * @return the graph of the window, empty if to <= from
+     */
+    public CsrGraph window(long from, long to) {
+        int first = rowAt(from);
+        int end = Math.max(first, rowAt(to));
+        CsrGraph.Builder builder = new CsrGraph.Builder(Math.min(graph.nodeCount(), 2 * (end - first)), true);
+        for (int r = first; r < end; r++) {
+            builder.addEdge(graph.nodeId(sources[r]), graph.nodeId(targets[r]));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the distinct graph of every row, whatever its timestamp.
+     */
+    public CsrGraph graph() {
+        return graph;
+    }
+
+    /**
+     * Returns the number of rows, duplicates included.
+     */
+    public int rowCount() {
+        return timestamps.length;
+    }
+
+    /**
+     * Returns the earliest timestamp.
+     *
+     * @throws IllegalStateException if there are no rows
+     */
+    public long firstTimestamp() {
+        if (timestamps.length == 0) {
+            throw new IllegalStateException("No rows");
+        }
+        return timestamps[0];
+    }
+
+    /**
+     * Returns the latest timestamp.
+     *
+     * @throws IllegalStateException if there are no rows
+     */
+    public long lastTimestamp() {
+        if (timestamps.length == 0) {
+            throw new IllegalStateException("No rows");
+        }
+        return timestamps[timestamps.length - 1];
+    }
+
+    /****************************************************************************************************************
+     * Rows
+     ****************************************************************************************************************/
+
+    /**
+     * Returns the dense index in graph() of a row's source.
+     *
+     * @param row a row, less than rowCount()
+     */
+    public int source(int row) {
+        return sources[row];
+    }
+
+    /**
+     * Returns the dense index in graph() of a row's target.
+     *
+     * @param row a row, less than rowCount()
+     */
+    public int target(int row) {
+        return targets[row];
+    }
+
+    /**
+     * Returns the position in graph() of a row's edge, shared by every row with the same endpoints.
+     *
+     * @param row a row, less than rowCount()
+     */
+    public int edge(int row) {
+        return edges[row];
+    }
+
+    /**
+     * Returns a row's timestamp.
+     *
+     * @param row a row, less than rowCount()
+     */
+    public long timestamp(int row) {
+        return timestamps[row];
+    }
+}
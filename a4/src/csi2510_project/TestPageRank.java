@@ -8,13 +8,7 @@
  
 package csi2510_project;
 
-import java.util.List;
-import java.util.ArrayList;
 import java.util.Map;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
-import java.util.Collections;
-import java.util.Comparator;
 import java.io.IOException;
 
 
@@ -31,13 +25,13 @@ public class TestPageRank{
 			Graph graph = CSI2510.readGraph(edgeFilenames[i]);
 
 			Map<Integer, Double> pageRank = PR.computePageRank(graph);
-			pageRank = sortPageRank(pageRank);
+			pageRank = sortPageRank(pageRank, topN);
 			
 			System.out.println("\n\n\nTesting "+edgeFilenames[i]);
 			
 			// print topN nodes, PRs, and their adjacency lists in order of decreasing PR values
 			int rank = 1;
-			System.out.println("\nNumber of nodes in the Graph: " + pageRank.size() + "\n");
+			System.out.println("\nNumber of nodes in the Graph: " + graph.getGraphNodes().size() + "\n");
 			
 			for(Integer node : pageRank.keySet()) {
 				System.out.println("Rank:" + rank + "\t" + "Node number: " + node + "\t" + "Node PR: " + pageRank.get(node));
@@ -58,24 +52,9 @@ public class TestPageRank{
 	}
 
 	
-	private static Map<Integer, Double> sortPageRank(Map<Integer, Double> pageRank){ 
-		// Create a list from entries of HashMap 
-		List<Map.Entry<Integer, Double> > list = new ArrayList<Map.Entry<Integer, Double> >(pageRank.entrySet());
-
-		// Sort the list in decreasing order of PRs
-		Collections.sort(list, new Comparator<Map.Entry<Integer, Double> >() { 
-			public int compare(Map.Entry<Integer, Double> pr1, Map.Entry<Integer, Double> pr2) 
-			{ 
-				return (pr2.getValue()).compareTo(pr1.getValue()); 
-			} 
-			}); 
-		
-		// transfer the entries from sorted list to a LinkedHashMap that preserves the insertion order 
-		HashMap<Integer, Double> temp = new LinkedHashMap<Integer, Double>(); 
-		for (Map.Entry<Integer, Double> pr : list) { 
-			temp.put(pr.getKey(), pr.getValue()); 
-		} 
-		return temp; 
+	private static Map<Integer, Double> sortPageRank(Map<Integer, Double> pageRank, int topN){ 
+		// Select the topN entries in decreasing order of PRs with a bounded heap instead of sorting them all
+		return TopRanks.select(pageRank, topN); 
 	} 
 
 	
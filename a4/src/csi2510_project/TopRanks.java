@@ -0,0 +1,201 @@
+package csi2510_project;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Selects the k highest ranked nodes of a PageRank result without sorting all of them. A bounded min-heap holds the
+ * best k seen so far with the weakest at the root, so each remaining node costs one comparison against the root and
+ * only the few that beat it cost a sift.
+ *
+ * Ties are broken towards the smaller node, so the selection does not depend on iteration order.
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class TopRanks {
+
+    private TopRanks() {
+    }
+
+    /**
+     * Returns the dense indices of the k highest ranked nodes, highest first.
+     *
+     * O(n log k)
+     *
+     * @param rank      the PR of each node, by dense index
+     * @param nodeCount the number of nodes, at most rank.length
+     * @param k         the number of nodes to select
+     * @return min(k, nodeCount) dense indices in decreasing order of PR
+     * @throws IllegalArgumentException if k is negative or nodeCount is out of range
+     */
+    public static int[] select(double[] rank, int nodeCount, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Negative count: " + k);
+        }
+        if (nodeCount < 0 || nodeCount > rank.length) {
+            throw new IllegalArgumentException("Node count out of range: " + nodeCount + " of " + rank.length);
+        }
+        int size = Math.min(k, nodeCount);
+        int[] heap = new int[size];
+        for (int v = 0; v < size; v++) {
+            heap[v] = v;
+            siftUp(heap, rank, v);
+        }
+        for (int v = size; v < nodeCount; v++) {
+            // Later indices lose ties, so only a strictly higher rank displaces the root
+            if (size > 0 && rank[v] > rank[heap[0]]) {
+                heap[0] = v;
+                siftDown(heap, rank, size);
+            }
+        }
+
+        // Pop the weakest into the back until the heap is sorted highest first
+        for (int end = size - 1; end > 0; end--) {
+            int weakest = heap[0];
+            heap[0] = heap[end];
+            heap[end] = weakest;
+            siftDown(heap, rank, end);
+        }
+        return heap;
+    }
+
+    /**
+     * Returns the k highest ranked nodes of a graph mapped to their PR, highest first.
+     *
+     * O(n log k)
+     *
+     * @param graph the graph the ranks were computed for
+     * @param rank  the PR of each node, by dense index
+     * @param k     the number of nodes to select
+     * @return an insertion-ordered map of min(k, nodeCount) node ids to their PR
+     */
+    public static Map<Integer, Double> select(CompactGraph graph, double[] rank, int k) {
+        int[] top = select(rank, graph.nodeCount(), k);
+        Map<Integer, Double> pageRank = new LinkedHashMap<>(top.length * 2);
+        for (int v : top) {
+            pageRank.put(graph.nodeId(v), rank[v]);
+        }
+        return pageRank;
+    }
+
+    /**
+     * Returns the k highest ranked entries of a PageRank map, highest first. Only the k best entries are ever held
+     * outside the map.
+     *
+     * O(n log k)
+     *
+     * @param pageRank each node mapped to its PR
+     * @param k        the number of nodes to select
+     * @return an insertion-ordered map of min(k, pageRank.size()) nodes to their PR
+     * @throws IllegalArgumentException if k is negative
+     */
+    public static Map<Integer, Double> select(Map<Integer, Double> pageRank, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Negative count: " + k);
+        }
+        int capacity = Math.min(k, pageRank.size());
+        int[] ids = new int[capacity];
+        double[] values = new double[capacity];
+        int[] heap = new int[capacity];    // slots of ids and values
+        int size = 0;
+        for (Map.Entry<Integer, Double> entry : pageRank.entrySet()) {
+            int id = entry.getKey();
+            double value = entry.getValue();
+            if (size < capacity) {
+                ids[size] = id;
+                values[size] = value;
+                heap[size] = size;
+                siftUp(heap, values, ids, size++);
+            }
+            else if (capacity > 0 && higher(value, id, values[heap[0]], ids[heap[0]])) {
+                ids[heap[0]] = id;
+                values[heap[0]] = value;
+                siftDown(heap, values, ids, size);
+            }
+        }
+
+        for (int end = size - 1; end > 0; end--) {
+            int weakest = heap[0];
+            heap[0] = heap[end];
+            heap[end] = weakest;
+            siftDown(heap, values, ids, end);
+        }
+        Map<Integer, Double> top = new LinkedHashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            top.put(ids[heap[i]], values[heap[i]]);
+        }
+        return top;
+    }
+
+    /****************************************************************************************************************
+     * Heap
+     ****************************************************************************************************************/
+
+    /**
+     * Returns whether a (rank, node) pair ranks above another: higher PR first, then the smaller node.
+     */
+    private static boolean higher(double rank, int node, double otherRank, int otherNode) {
+        return rank > otherRank || (rank == otherRank && node < otherNode);
+    }
+
+    private static void siftUp(int[] heap, double[] rank, int i) {
+        int node = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!higher(rank[heap[parent]], heap[parent], rank[node], node)) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = node;
+    }
+
+    private static void siftDown(int[] heap, double[] rank, int size) {
+        int node = heap[0];
+        int i = 0;
+        int child;
+        while ((child = 2 * i + 1) < size) {
+            if (child + 1 < size && higher(rank[heap[child]], heap[child], rank[heap[child + 1]], heap[child + 1])) {
+                child++;
+            }
+            if (!higher(rank[node], node, rank[heap[child]], heap[child])) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = node;
+    }
+
+    private static void siftUp(int[] heap, double[] values, int[] ids, int i) {
+        int slot = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!higher(values[heap[parent]], ids[heap[parent]], values[slot], ids[slot])) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = slot;
+    }
+
+    private static void siftDown(int[] heap, double[] values, int[] ids, int size) {
+        int slot = heap[0];
+        int i = 0;
+        int child;
+        while ((child = 2 * i + 1) < size) {
+            if (child + 1 < size
+                    && higher(values[heap[child]], ids[heap[child]], values[heap[child + 1]], ids[heap[child + 1]])) {
+                child++;
+            }
+            if (!higher(values[slot], ids[slot], values[heap[child]], ids[heap[child]])) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = slot;
+    }
+}
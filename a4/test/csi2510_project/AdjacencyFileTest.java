@@ -0,0 +1,140 @@
+package csi2510_project;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * @Author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class AdjacencyFileTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void write__oneRun__matchesReadGraph() throws Exception {
+        assertSameGraph("email-dnc.edges", AdjacencyFile.DEFAULT_CHUNK_EDGES);
+    }
+
+    @Test
+    public void write__fewRuns__matchesReadGraph() throws Exception {
+        assertSameGraph("email-dnc.edges", 1000);
+    }
+
+    /**
+     * More than MAX_MERGE_RUNS runs, and more than MAX_MERGE_RUNS runs after the first pass, so the runs are merged
+     * in two passes before the final merge.
+     */
+    @Test
+    public void write__manyRuns__mergesInPasses() throws Exception {
+        assertSameGraph("email-dnc.edges", 3);
+        assertSameGraph("small_graph.edges", 1);
+    }
+
+    @Test
+    public void write__noEdges__emptyFile() throws Exception {
+        Path output = folder.newFolder().toPath().resolve("graph.adj");
+        AdjacencyFile file = AdjacencyFile.write(
+                new ByteArrayInputStream("from,to\n".getBytes(StandardCharsets.UTF_8)), output, 4);
+        assertEquals(0, file.nodeCount());
+        assertEquals(0, file.edgeCount());
+        file.forEachAdjacency((node, targets, degree) -> fail("node " + node));
+        assertEquals(0, AdjacencyFile.open(output).nodeCount());
+    }
+
+    @Test
+    public void open__writtenFile__sameGraph() throws Exception {
+        Path output = folder.newFolder().toPath().resolve("graph.adj");
+        AdjacencyFile written;
+        try (InputStream in = CSI2510.class.getResourceAsStream("email-dnc.edges")) {
+            written = AdjacencyFile.write(in, output, 1000);
+        }
+        AdjacencyFile opened = AdjacencyFile.open(output);
+        assertEquals(written.nodeCount(), opened.nodeCount());
+        assertEquals(written.edgeCount(), opened.edgeCount());
+        for (int i = 0; i < written.nodeCount(); i++) {
+            assertEquals(written.nodeId(i), opened.nodeId(i));
+        }
+        assertArrayEquals(adjacency(written), adjacency(opened));
+    }
+
+    @Test
+    public void forEachAdjacency__repeated__sameEdges() throws Exception {
+        Path output = folder.newFolder().toPath().resolve("graph.adj");
+        AdjacencyFile file;
+        try (InputStream in = CSI2510.class.getResourceAsStream("email-dnc.edges")) {
+            file = AdjacencyFile.write(in, output, AdjacencyFile.DEFAULT_CHUNK_EDGES);
+        }
+        int[][] first = adjacency(file);
+        for (int pass = 0; pass < 3; pass++) {
+            assertArrayEquals("pass " + pass, first, adjacency(file));
+        }
+    }
+
+    @Test
+    public void open__notAdjacencyFile__throws() throws Exception {
+        Path path = folder.newFile().toPath();
+        Files.write(path, "from,to\n1,2\n".getBytes(StandardCharsets.UTF_8));
+        try {
+            AdjacencyFile.open(path);
+            fail();
+        }
+        catch (IOException e) {
+            assertEquals("Not an adjacency file: " + path, e.getMessage());
+        }
+    }
+
+    @Test
+    public void write__badChunkSize__throws() throws Exception {
+        try {
+            AdjacencyFile.write(new ByteArrayInputStream(new byte[0]), folder.newFolder().toPath().resolve("graph.adj"),
+                    0);
+            fail();
+        }
+        catch (IllegalArgumentException e) {
+            assertEquals("Chunk size must be positive: 0", e.getMessage());
+        }
+    }
+
+    private void assertSameGraph(String name, int chunkEdges) throws Exception {
+        CsrGraph expected = (CsrGraph) CSI2510.readGraph(name);
+        File directory = folder.newFolder();
+        Path output = directory.toPath().resolve("graph.adj");
+        AdjacencyFile file;
+        try (InputStream in = CSI2510.class.getResourceAsStream(name)) {
+            file = AdjacencyFile.write(in, output, chunkEdges);
+        }
+        assertArrayEquals("temporary runs are deleted", new File[]{output.toFile()}, directory.listFiles());
+
+        assertEquals(expected.nodeCount(), file.nodeCount());
+        assertEquals(expected.edgeCount(), file.edgeCount());
+        for (int i = 0; i < expected.nodeCount(); i++) {
+            assertEquals(expected.nodeId(i), file.nodeId(i));
+        }
+
+        int[][] adjacency = adjacency(file);
+        int[] offsets = expected.offsets();
+        for (int u = 0; u < expected.nodeCount(); u++) {
+            int[] targets = Arrays.copyOfRange(expected.targets(), offsets[u], offsets[u + 1]);
+            Arrays.sort(targets);
+            assertArrayEquals(name + " node " + u, targets, adjacency[u]);
+        }
+    }
+
+    private static int[][] adjacency(AdjacencyFile file) throws IOException {
+        int[][] adjacency = new int[file.nodeCount()][0];
+        file.forEachAdjacency((node, targets, degree) -> adjacency[node] = Arrays.copyOf(targets, degree));
+        return adjacency;
+    }
+}
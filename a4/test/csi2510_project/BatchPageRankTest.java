@@ -0,0 +1,130 @@
+package csi2510_project;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.Assert.*;
+
+/**
+ * @Author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class BatchPageRankTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void rankGraphs__matchesPageRank() throws Exception {
+        // Large graphs before small ones, so the small ones reuse a larger workspace
+        List<CsrGraph> graphs = new ArrayList<>();
+        graphs.add(GraphFixtures.random(5000, 40000, 5));
+        for (String name : GraphFixtures.SAMPLES) {
+            graphs.add((CsrGraph) CSI2510.readGraph(name));
+        }
+        graphs.add(new CsrGraph.Builder().build());
+        graphs.add(GraphFixtures.random(50, 200, 6));
+
+        try (BatchPageRank batch = new BatchPageRank(2)) {
+            List<BatchPageRank.Ranking> rankings = batch.rankGraphs(graphs);
+            assertEquals(graphs.size(), rankings.size());
+            for (int i = 0; i < graphs.size(); i++) {
+                assertRanking("graph " + i, graphs.get(i), rankings.get(i));
+            }
+            long edges = 0;
+            for (CsrGraph graph : graphs) {
+                edges += graph.edgeCount();
+            }
+            assertEquals(graphs.size(), batch.graphs());
+            assertEquals(edges, batch.edges());
+        }
+    }
+
+    @Test
+    public void rankResources__matchesPageRank() throws Exception {
+        try (BatchPageRank batch = new BatchPageRank(2)) {
+            List<BatchPageRank.Ranking> rankings = batch.rankResources(Arrays.asList(GraphFixtures.SAMPLES));
+            for (int i = 0; i < GraphFixtures.SAMPLES.length; i++) {
+                String name = GraphFixtures.SAMPLES[i];
+                assertRanking(name, (CsrGraph) CSI2510.readGraph(name), rankings.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void rankFiles__matchesPageRank() throws Exception {
+        List<Path> files = new ArrayList<>();
+        for (String name : GraphFixtures.SAMPLES) {
+            files.add(GraphFixtures.copyResource(name, folder.getRoot().toPath()));
+        }
+        try (BatchPageRank batch = new BatchPageRank(2)) {
+            List<BatchPageRank.Ranking> rankings = batch.rankFiles(files);
+            for (int i = 0; i < files.size(); i++) {
+                String name = GraphFixtures.SAMPLES[i];
+                assertRanking(name, (CsrGraph) CSI2510.readGraph(name), rankings.get(i));
+            }
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void rankFiles__missingFile__throws() throws Exception {
+        try (BatchPageRank batch = new BatchPageRank(2)) {
+            batch.rankFiles(Arrays.asList(folder.getRoot().toPath().resolve("missing.edges")));
+        }
+    }
+
+    @Test
+    public void rankGraphs__emptyBatch__returnsNothing() {
+        try (BatchPageRank batch = new BatchPageRank(2)) {
+            assertTrue(batch.rankGraphs(new ArrayList<Graph>()).isEmpty());
+            assertEquals(0, batch.graphs());
+            assertEquals(0, batch.edges());
+        }
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void close__ownPools__shutDown() {
+        BatchPageRank batch = new BatchPageRank(2);
+        batch.close();
+        batch.rankGraphs(Arrays.asList(GraphFixtures.random(10, 20, 7)));
+    }
+
+    @Test
+    public void close__sharedPools__leftRunning() throws Exception {
+        ExecutorService rankPool = Executors.newFixedThreadPool(2);
+        ExecutorService ioPool = Executors.newCachedThreadPool();
+        try {
+            try (BatchPageRank batch = new BatchPageRank(0.000001, 100, rankPool, ioPool)) {
+                batch.rankResources(Arrays.asList("small_graph.edges"));
+            }
+            assertFalse(rankPool.isShutdown());
+            assertFalse(ioPool.isShutdown());
+            try (BatchPageRank batch = new BatchPageRank(0.000001, 100, rankPool, ioPool)) {
+                CsrGraph graph = (CsrGraph) CSI2510.readGraph("small_graph.edges");
+                assertRanking("shared", graph, batch.rankGraphs(Arrays.asList(graph)).get(0));
+            }
+        }
+        finally {
+            rankPool.shutdown();
+            ioPool.shutdown();
+        }
+    }
+
+    private static void assertRanking(String message, CsrGraph graph, BatchPageRank.Ranking ranking) {
+        PageRank expected = new PageRank();
+        double[] rank = expected.computePageRank(graph);
+        assertEquals(message, graph.nodeCount(), ranking.graph().nodeCount());
+        assertEquals(message, graph.edgeCount(), ranking.graph().edgeCount());
+        assertArrayEquals(message, rank, ranking.rank(), 0.0);
+        assertEquals(message, expected.getIterations(), ranking.iterations());
+        assertEquals(message, expected.getMeanChange(), ranking.meanChange(), 0.0);
+    }
+}
@@ -0,0 +1,144 @@
+package csi2510_project;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @Author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class BinaryGraphFileTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void write__open__sameGraph() throws Exception {
+        List<CsrGraph> graphs = new ArrayList<>();
+        for (String name : GraphFixtures.SAMPLES) {
+            graphs.add((CsrGraph) CSI2510.readGraph(name));
+        }
+        graphs.add(GraphFixtures.random(5000, 40000, 6));
+        for (CsrGraph graph : graphs) {
+            assertRoundTrip(graph);
+        }
+    }
+
+    @Test
+    public void write__emptySections__opens() throws Exception {
+        assertRoundTrip(new CsrGraph.Builder().build());
+        assertRoundTrip(new CsrGraph.Builder().addNode(1).addNode(-5).build());
+
+        Path file = folder.newFile().toPath();
+        BinaryGraphFile.write(new CsrGraph.Builder().addNode(1).build(), new long[0], file);
+        MappedGraph mapped = MappedGraph.open(file);
+        assertTrue(mapped.hasTimestamps());
+        assertEquals(0, mapped.edgeCount());
+    }
+
+    @Test
+    public void convert__timestamps__earliestPerEdge() throws Exception {
+        Path edgeList = folder.newFile().toPath();
+        Files.write(edgeList, "from,to,time\n1,2,50\n2,3,7\n1,2,30\n1,3\n1,2,40\n3,1,-2\n".getBytes(StandardCharsets.UTF_8));
+        Path file = folder.newFile().toPath();
+        CsrGraph graph = BinaryGraphFile.convert(edgeList, file, true);
+        assertEquals(4, graph.edgeCount());
+
+        MappedGraph mapped = MappedGraph.open(file);
+        assertTrue(mapped.hasTimestamps());
+        assertEquals(30, timestamp(mapped, 1, 2));
+        assertEquals(EdgeListReader.NO_TIMESTAMP, timestamp(mapped, 1, 3));
+        assertEquals(7, timestamp(mapped, 2, 3));
+        assertEquals(-2, timestamp(mapped, 3, 1));
+    }
+
+    @Test
+    public void convert__noTimestamps__matchesReadGraph() throws Exception {
+        Path file = folder.newFile().toPath();
+        CsrGraph graph = BinaryGraphFile.convert(
+                GraphFixtures.copyResource("email-dnc.edges", folder.getRoot().toPath()), file, false);
+        assertSameGraph((CsrGraph) CSI2510.readGraph("email-dnc.edges"), graph);
+        MappedGraph mapped = MappedGraph.open(file);
+        assertFalse(mapped.hasTimestamps());
+        try {
+            mapped.timestamp(0);
+            fail();
+        }
+        catch (IllegalStateException e) {
+            assertEquals("No timestamps", e.getMessage());
+        }
+    }
+
+    @Test
+    public void write__wrongTimestampCount__throws() throws Exception {
+        try {
+            BinaryGraphFile.write(new CsrGraph.Builder().addEdge(1, 2).build(), new long[2], folder.newFile().toPath());
+            fail();
+        }
+        catch (IllegalArgumentException e) {
+            assertEquals("2 timestamps for 1 edges", e.getMessage());
+        }
+    }
+
+    @Test
+    public void open__notBinaryGraphFile__throws() throws Exception {
+        Path file = GraphFixtures.copyResource("small_graph.edges", folder.getRoot().toPath());
+        try {
+            MappedGraph.open(file);
+            fail();
+        }
+        catch (IOException e) {
+            assertEquals("Not a binary graph file: " + file, e.getMessage());
+        }
+    }
+
+    private void assertRoundTrip(CsrGraph graph) throws IOException {
+        Path file = folder.newFile().toPath();
+        BinaryGraphFile.write(graph, null, file);
+        MappedGraph mapped = MappedGraph.open(file);
+        assertEquals(graph.nodeCount(), mapped.nodeCount());
+        assertEquals(graph.edgeCount(), mapped.edgeCount());
+        for (int u = 0; u < graph.nodeCount(); u++) {
+            assertEquals(graph.nodeId(u), mapped.nodeId(u));
+            assertEquals(u, mapped.indexOf(graph.nodeId(u)));
+            assertEquals(graph.offset(u), mapped.offset(u));
+        }
+        for (int e = 0; e < graph.edgeCount(); e++) {
+            assertEquals(graph.target(e), mapped.target(e));
+        }
+        assertEquals(-1, mapped.indexOf(Integer.MIN_VALUE));
+        assertEquals(graph.getGraphNodes(), mapped.getGraphNodes());
+        assertEquals(graph.getGraphEdges(), mapped.getGraphEdges());
+        assertSameGraph(graph, mapped.toCsrGraph());
+        assertSameGraph(graph, CsrGraph.of(mapped));
+    }
+
+    private static void assertSameGraph(CsrGraph expected, CsrGraph actual) {
+        assertEquals(expected.nodeCount(), actual.nodeCount());
+        for (int u = 0; u < expected.nodeCount(); u++) {
+            assertEquals(expected.nodeId(u), actual.nodeId(u));
+            assertEquals(u, actual.indexOf(expected.nodeId(u)));
+        }
+        assertArrayEquals(expected.offsets(), actual.offsets());
+        assertArrayEquals(expected.targets(), actual.targets());
+    }
+
+    private static long timestamp(MappedGraph graph, int from, int to) {
+        int u = graph.indexOf(from);
+        int v = graph.indexOf(to);
+        for (int e = graph.offset(u); e < graph.offset(u + 1); e++) {
+            if (graph.target(e) == v) {
+                return graph.timestamp(e);
+            }
+        }
+        throw new AssertionError(from + " -> " + to);
+    }
+}
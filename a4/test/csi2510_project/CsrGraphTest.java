@@ -0,0 +1,185 @@
+package csi2510_project;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * @Author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class CsrGraphTest {
+
+    @Test
+    public void of__samples__keepsNodesAndEdges() throws Exception {
+        for (String name : GraphFixtures.SAMPLES) {
+            Graph expected = GraphFixtures.readReference(name);
+            CsrGraph actual = CsrGraph.of(expected);
+            assertEquals(name, expected.getGraphNodes(), new ArrayList<>(actual.getGraphNodes()));
+            assertEquals(name, expected.getGraphEdges(), new HashMap<>(actual.getGraphEdges()));
+            assertSame(name, actual, CsrGraph.of(actual));
+        }
+    }
+
+    @Test
+    public void views__matchArrays() {
+        CsrGraph graph = GraphFixtures.random(200, 1000, 1);
+        List<Integer> nodes = graph.getGraphNodes();
+        Map<Integer, List<Integer>> edges = graph.getGraphEdges();
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        assertEquals(graph.nodeCount(), nodes.size());
+        assertEquals(graph.nodeCount(), edges.size());
+        assertEquals(graph.edgeCount(), offsets[graph.nodeCount()]);
+        for (int u = 0; u < graph.nodeCount(); u++) {
+            int id = graph.nodeId(u);
+            assertEquals(id, (int) nodes.get(u));
+            assertEquals(u, graph.indexOf(id));
+            List<Integer> adjacent = edges.get(id);
+            assertEquals(graph.outDegree(u), adjacent.size());
+            for (int i = 0; i < adjacent.size(); i++) {
+                assertEquals(graph.nodeId(targets[offsets[u] + i]), (int) adjacent.get(i));
+            }
+        }
+        assertEquals(-1, graph.indexOf(-1));
+        assertNull(edges.get(-1));
+    }
+
+    @Test
+    public void builder__keepsEdgeOrderAndDuplicates() {
+        CsrGraph graph = new CsrGraph.Builder()
+                .addEdge(1, 3).addEdge(2, 1).addEdge(1, 2).addEdge(1, 3).addNode(4)
+                .build();
+        assertEquals(4, graph.nodeCount());
+        assertEquals(4, graph.edgeCount());
+        assertEquals(Arrays.asList(3, 2, 3), graph.getGraphEdges().get(1));
+        assertEquals(Arrays.asList(1), graph.getGraphEdges().get(2));
+        assertEquals(Arrays.asList(), graph.getGraphEdges().get(4));
+        assertEquals(Arrays.asList(1, 3, 2, 4), graph.getGraphNodes());
+    }
+
+    @Test
+    public void builder__distinctEdges__dropsDuplicates() {
+        CsrGraph graph = new CsrGraph.Builder(4, true)
+                .addEdge(1, 2).addEdge(1, 2).addEdge(2, 1).addEdge(1, 3).addNode(4)
+                .build();
+        assertEquals(4, graph.nodeCount());
+        assertEquals(3, graph.edgeCount());
+        assertEquals(Arrays.asList(2, 3), graph.getGraphEdges().get(1));
+        assertEquals(Arrays.asList(), graph.getGraphEdges().get(4));
+    }
+
+    @Test
+    public void transpose__reversesEveryEdge() {
+        CsrGraph graph = GraphFixtures.random(300, 2000, 2);
+        CsrGraph incoming = graph.transpose();
+        assertEquals(graph.nodeCount(), incoming.nodeCount());
+        assertEquals(graph.edgeCount(), incoming.edgeCount());
+        assertEquals(edgeSet(graph, false), edgeSet(incoming, true));
+        assertSame(incoming, graph.transpose());
+        assertSame(graph, incoming.transpose());
+    }
+
+    @Test
+    public void builder__empty__hasNoNodes() {
+        CsrGraph graph = new CsrGraph.Builder().build();
+        assertEquals(0, graph.nodeCount());
+        assertEquals(0, graph.edgeCount());
+        assertArrayEquals(new int[]{0}, graph.offsets());
+        assertTrue(graph.getGraphNodes().isEmpty());
+        assertTrue(graph.getGraphEdges().isEmpty());
+    }
+
+    @Test
+    public void nodeIndex__manyIds__denseInInsertionOrder() {
+        NodeIndex index = new NodeIndex(2);
+        int count = 10000;
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, index.add(Integer.MIN_VALUE + i * 65537));
+        }
+        assertEquals(count, index.size());
+        for (int i = 0; i < count; i++) {
+            int id = Integer.MIN_VALUE + i * 65537;
+            assertEquals(i, index.add(id));
+            assertEquals(i, index.indexOf(id));
+            assertEquals(id, index.id(i));
+        }
+        assertEquals(count, index.size());
+        assertEquals(-1, index.indexOf(1));
+    }
+
+    @Test
+    public void renumber__keepsEdgesById() {
+        CsrGraph graph = GraphFixtures.random(300, 2000, 3);
+        for (NodeOrdering.Order order : NodeOrdering.Order.values()) {
+            CsrGraph renumbered = NodeOrdering.apply(graph, order);
+            assertEquals(order.toString(), graph.nodeCount(), renumbered.nodeCount());
+            assertEquals(order.toString(), idEdges(graph), idEdges(renumbered));
+        }
+    }
+
+    @Test
+    public void renumber__notPermutation__throws() {
+        CsrGraph graph = GraphFixtures.random(3, 3, 4);
+        assertRenumberFails(graph, new int[]{0, 1}, "Order has 2 entries for 3 nodes");
+        assertRenumberFails(graph, new int[]{0, 3, 1}, "Unknown node in order: 3");
+        assertRenumberFails(graph, new int[]{0, 0, 1}, "Node appears twice in order: 0");
+    }
+
+    @Test
+    public void tile__badBlockSize__throws() {
+        CsrGraph graph = GraphFixtures.random(3, 3, 4);
+        for (int blockNodes : new int[]{0, -4, 3, TiledGraph.MAX_BLOCK_NODES * 2}) {
+            try {
+                TiledGraph.of(graph, blockNodes);
+                fail("block size " + blockNodes);
+            }
+            catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage(), e.getMessage().endsWith(": " + blockNodes));
+            }
+        }
+    }
+
+    private static void assertRenumberFails(CsrGraph graph, int[] order, String message) {
+        try {
+            graph.renumber(order);
+            fail(message);
+        }
+        catch (IllegalArgumentException e) {
+            assertEquals(message, e.getMessage());
+        }
+    }
+
+    private static Set<Long> edgeSet(CsrGraph graph, boolean reversed) {
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        Set<Long> edges = new HashSet<>();
+        for (int u = 0; u < graph.nodeCount(); u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                long from = reversed ? targets[e] : u;
+                long to = reversed ? u : targets[e];
+                edges.add(from << 32 | to);
+            }
+        }
+        return edges;
+    }
+
+    private static Map<Integer, List<Integer>> idEdges(CsrGraph graph) {
+        Map<Integer, List<Integer>> edges = new HashMap<>();
+        for (int u = 0; u < graph.nodeCount(); u++) {
+            List<Integer> targets = new ArrayList<>();
+            for (int e = graph.offset(u); e < graph.offset(u + 1); e++) {
+                targets.add(graph.nodeId(graph.target(e)));
+            }
+            edges.put(graph.nodeId(u), targets);
+        }
+        return edges;
+    }
+}
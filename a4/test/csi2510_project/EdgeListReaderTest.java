@@ -0,0 +1,111 @@
+package csi2510_project;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @Author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class EdgeListReaderTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void readGraph__samples__matchReference() throws Exception {
+        for (String name : GraphFixtures.SAMPLES) {
+            Graph expected = GraphFixtures.readReference(name);
+            Graph actual = CSI2510.readGraph(name);
+            assertEquals(name, expected.getGraphNodes(), new ArrayList<>(actual.getGraphNodes()));
+            assertEquals(name, expected.getGraphEdges(), new HashMap<>(actual.getGraphEdges()));
+        }
+    }
+
+    @Test
+    public void readGraph__path__matchesStream() throws Exception {
+        EdgeListReader reader = new EdgeListReader();
+        for (String name : GraphFixtures.SAMPLES) {
+            CsrGraph expected = reader.readGraph(CSI2510.class.getResourceAsStream(name));
+            CsrGraph actual = reader.readGraph(GraphFixtures.copyResource(name, folder.getRoot().toPath()));
+            assertEquals(name, expected.getGraphNodes(), actual.getGraphNodes());
+            assertArrayEquals(name, expected.offsets(), actual.offsets());
+            assertArrayEquals(name, expected.targets(), actual.targets());
+            assertTrue(name, reader.rows() >= actual.edgeCount());
+        }
+    }
+
+    @Test
+    public void read__separatorsCommentsAndBom__parsed() throws Exception {
+        List<long[]> edges = read("\uFEFF% comment\n1,2\n# comment\n3 4\r\n5\t6,7\n 8 , 9 \n\n10,11");
+        assertEdges(edges, new long[][]{
+                {1, 2, EdgeListReader.NO_TIMESTAMP}, {3, 4, EdgeListReader.NO_TIMESTAMP}, {5, 6, 7},
+                {8, 9, EdgeListReader.NO_TIMESTAMP}, {10, 11, EdgeListReader.NO_TIMESTAMP}});
+    }
+
+    @Test
+    public void read__extremeIds__parsed() throws Exception {
+        List<long[]> edges = read("-2147483648,2147483647,-9000000000\n2147483647,-2147483648\n-0,0");
+        assertEdges(edges, new long[][]{
+                {Integer.MIN_VALUE, Integer.MAX_VALUE, -9000000000L},
+                {Integer.MAX_VALUE, Integer.MIN_VALUE, EdgeListReader.NO_TIMESTAMP},
+                {0, 0, EdgeListReader.NO_TIMESTAMP}});
+    }
+
+    @Test
+    public void read__idOutOfRange__throws() {
+        assertMalformed("1,2\n2147483648,1", 2);
+        assertMalformed("1,-2147483649", 1);
+    }
+
+    @Test
+    public void read__emptyField__throws() {
+        assertMalformed("1,,2", 1);
+        assertMalformed("1,2\n,1,2", 2);
+        assertMalformed("1,2,\n", 1);
+        assertMalformed("1 , ,2", 1);
+        assertMalformed("1,2\n3,4\n,\n", 3);
+    }
+
+    @Test
+    public void read__malformedRows__throw() {
+        assertMalformed("1", 1);
+        assertMalformed("1,2,3,4", 1);
+        assertMalformed("1,x", 1);
+        assertMalformed("1,-", 1);
+        assertMalformed("1,2-3", 1);
+    }
+
+    private static List<long[]> read(String text) throws IOException {
+        List<long[]> edges = new ArrayList<>();
+        new EdgeListReader(false).read(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)),
+                (from, to, timestamp) -> edges.add(new long[]{from, to, timestamp}));
+        return edges;
+    }
+
+    private static void assertEdges(List<long[]> actual, long[][] expected) {
+        assertEquals(expected.length, actual.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertArrayEquals(Arrays.toString(actual.get(i)), expected[i], actual.get(i));
+        }
+    }
+
+    private static void assertMalformed(String text, int line) {
+        try {
+            read(text);
+            fail(text);
+        }
+        catch (IOException e) {
+            assertEquals(text, "Malformed edge list at line " + line, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package csi2510_project;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Graphs and assertions shared by the a4 tests.
+ *
+ * @Author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+final class GraphFixtures {
+    static final String[] SAMPLES = {"email-dnc.edges", "small_graph.edges", "small_graph_2.edges"};
+
+    private GraphFixtures() {
+    }
+
+    /**
+     * Reads an edge list resource the way the course's original readGraph did, with String.split and boxed
+     * collections, dropping duplicate edges and keeping nodes in the order they are first seen.
+     */
+    static Graph readReference(String name) throws IOException {
+        Set<Integer> nodes = new LinkedHashSet<>();
+        Map<Integer, Set<Integer>> edges = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                CSI2510.class.getResourceAsStream(name), StandardCharsets.UTF_8))) {
+            reader.readLine();
+            String row;
+            while ((row = reader.readLine()) != null) {
+                String[] data = row.split(",");
+                Integer u = Integer.parseInt(data[0].trim());
+                Integer v = Integer.parseInt(data[1].trim());
+                nodes.add(u);
+                nodes.add(v);
+                edges.computeIfAbsent(u, key -> new LinkedHashSet<>()).add(v);
+            }
+        }
+        Map<Integer, List<Integer>> lists = new LinkedHashMap<>();
+        for (Integer node : nodes) {
+            lists.put(node, new ArrayList<>(edges.getOrDefault(node, Set.of())));
+        }
+        return new Graph(new ArrayList<>(nodes), lists);
+    }
+
+    /**
+     * Copies an edge list resource to a file.
+     */
+    static Path copyResource(String name, Path directory) throws IOException {
+        Path file = directory.resolve(name);
+        try (InputStream in = CSI2510.class.getResourceAsStream(name)) {
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return file;
+    }
+
+    /**
+     * Returns a random graph with distinct edges, self loops and dangling nodes included, and sparse node ids.
+     */
+    static CsrGraph random(int nodeCount, int edgeCount, long seed) {
+        Random rng = new Random(seed);
+        CsrGraph.Builder builder = new CsrGraph.Builder(nodeCount, true);
+        for (int i = 0; i < nodeCount; i++) {
+            builder.addNode(i * 7 + 3);
+        }
+        for (int e = 0; e < edgeCount; e++) {
+            builder.addEdge(rng.nextInt(nodeCount) * 7 + 3, rng.nextInt(nodeCount) * 7 + 3);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Computes PR the way the course's original PageRank did, over boxed maps, with the default tolerance and
+     * iteration limit. Summing over a graph from readReference visits the edges in the same order as the CSR core.
+     */
+    static Map<Integer, Double> baselinePageRank(Graph graph) {
+        List<Integer> nodes = graph.getGraphNodes();
+        Map<Integer, List<Integer>> edges = graph.getGraphEdges();
+        Map<Integer, Double> pageRank = new HashMap<>();
+        for (Integer node : nodes) {
+            pageRank.put(node, PageRank.STARTING_PAGE_RANK);
+        }
+
+        double meanChange = Double.MAX_VALUE;
+        int iterations = 0;
+        while (meanChange > 0.000001 && ++iterations <= 100) {
+            Map<Integer, Double> incoming = new HashMap<>();
+            for (Map.Entry<Integer, List<Integer>> entry : edges.entrySet()) {
+                for (Integer target : entry.getValue()) {
+                    incoming.put(target, incoming.getOrDefault(target, 0.0)
+                            + pageRank.get(entry.getKey()) / entry.getValue().size());
+                }
+            }
+            double totalChange = 0.0;
+            for (Integer node : nodes) {
+                double rank = (1 - PageRank.DAMPING_FACTOR) + PageRank.DAMPING_FACTOR * incoming.getOrDefault(node, 0.0);
+                totalChange += Math.abs(pageRank.get(node) - rank);
+                pageRank.put(node, rank);
+            }
+            meanChange = totalChange / nodes.size();
+        }
+        return pageRank;
+    }
+
+    /**
+     * Returns the PR of each node of a graph, converged far past the default tolerance.
+     */
+    static double[] converged(CsrGraph graph) {
+        return new PageRank(1e-13, 100000).computePageRank(graph);
+    }
+
+    static void assertRanksEqual(String message, double[] expected, double[] actual, double delta) {
+        for (int v = 0; v < expected.length; v++) {
+            assertEquals(message + " node " + v, expected[v], actual[v], delta);
+        }
+    }
+
+    static void assertRanksEqual(String message, Map<Integer, Double> expected, Map<Integer, Double> actual,
+                                 double delta) {
+        assertEquals(message, expected.keySet(), actual.keySet());
+        for (Map.Entry<Integer, Double> entry : expected.entrySet()) {
+            assertEquals(message + " node " + entry.getKey(), entry.getValue(), actual.get(entry.getKey()), delta);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package csi2510_project;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @Author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class IncrementalPageRankTest {
+    private static final double EPSILON = 1e-10;
+    private static final double DELTA = 1e-6;    // about EPSILON / (1 - d) per push, over thousands of nodes
+
+    @Test
+    public void constructor__matchesConverged() throws Exception {
+        for (String name : GraphFixtures.SAMPLES) {
+            CsrGraph graph = (CsrGraph) CSI2510.readGraph(name);
+            IncrementalPageRank pageRank = new IncrementalPageRank(graph, null, EPSILON);
+            assertRanks(name, pageRank);
+        }
+    }
+
+    @Test
+    public void constructor__warmStart__matchesConverged() throws Exception {
+        CsrGraph graph = (CsrGraph) CSI2510.readGraph("email-dnc.edges");
+        IncrementalPageRank pageRank = new IncrementalPageRank(graph, new PageRank().computePageRank(graph), EPSILON);
+        assertRanks("warm start", pageRank);
+    }
+
+    @Test
+    public void addEdge__removeEdge__matchesRecompute() throws Exception {
+        CsrGraph graph = (CsrGraph) CSI2510.readGraph("email-dnc.edges");
+        IncrementalPageRank pageRank = new IncrementalPageRank(graph, new PageRank().computePageRank(graph), EPSILON);
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        Random rng = new Random(7);
+        for (int round = 0; round < 20; round++) {
+            for (int change = 0; change < 25; change++) {
+                int u = rng.nextInt(graph.nodeCount());
+                if (rng.nextBoolean() && graph.outDegree(u) > 0) {
+                    int v = targets[offsets[u] + rng.nextInt(graph.outDegree(u))];
+                    pageRank.removeEdge(graph.nodeId(u), graph.nodeId(v));
+                }
+                else {
+                    pageRank.addEdge(graph.nodeId(u), graph.nodeId(rng.nextInt(graph.nodeCount())));
+                }
+            }
+            pageRank.propagate();
+            assertRanks("round " + round, pageRank);
+        }
+    }
+
+    @Test
+    public void addEdge__newNodes__matchesRecompute() {
+        CsrGraph graph = GraphFixtures.random(100, 400, 8);
+        IncrementalPageRank pageRank = new IncrementalPageRank(graph, null, EPSILON);
+        assertTrue(pageRank.addEdge(1000, 1001));
+        assertTrue(pageRank.addEdge(3, 1000));
+        assertTrue(pageRank.addEdge(1001, 1001));
+        pageRank.propagate();
+        assertEquals(102, pageRank.nodeCount());
+        assertRanks("new nodes", pageRank);
+    }
+
+    @Test
+    public void addEdge__removeEdge__keepEdgesDistinct() {
+        IncrementalPageRank pageRank = new IncrementalPageRank(
+                new CsrGraph.Builder().addEdge(1, 2).addEdge(2, 3).build(), null, EPSILON);
+        assertFalse(pageRank.addEdge(1, 2));
+        assertFalse(pageRank.removeEdge(3, 1));
+        assertFalse(pageRank.removeEdge(1, 4));
+        assertTrue(pageRank.removeEdge(1, 2));
+        assertFalse(pageRank.removeEdge(1, 2));
+        pageRank.propagate();
+        assertEquals(3, pageRank.toCsrGraph().nodeCount());
+        assertEquals(1, pageRank.toCsrGraph().edgeCount());
+        assertRanks("removed", pageRank);
+    }
+
+    @Test
+    public void removeEdge__all__teleportOnly() {
+        IncrementalPageRank pageRank = new IncrementalPageRank(
+                new CsrGraph.Builder().addEdge(1, 2).addEdge(2, 1).build(), null, EPSILON);
+        pageRank.removeEdge(1, 2);
+        pageRank.removeEdge(2, 1);
+        pageRank.propagate();
+        assertEquals(1 - PageRank.DAMPING_FACTOR, pageRank.getPageRank(1), 1e-9);
+        assertEquals(1 - PageRank.DAMPING_FACTOR, pageRank.getPageRank(2), 1e-9);
+    }
+
+    @Test
+    public void addEdge__emptyGraph__matchesRecompute() {
+        IncrementalPageRank pageRank = new IncrementalPageRank(new CsrGraph.Builder().build(), null, EPSILON);
+        assertEquals(0, pageRank.nodeCount());
+        assertTrue(pageRank.getPageRank().isEmpty());
+        assertEquals(0, pageRank.propagate());
+        assertTrue(pageRank.addEdge(5, 6));
+        pageRank.propagate();
+        assertRanks("from empty", pageRank);
+    }
+
+    @Test
+    public void getPageRank__unknownNode__throws() {
+        try {
+            new IncrementalPageRank(new CsrGraph.Builder().addEdge(1, 2).build()).getPageRank(3);
+            fail();
+        }
+        catch (IllegalArgumentException e) {
+            assertEquals("Unknown node: 3", e.getMessage());
+        }
+    }
+
+    @Test
+    public void constructor__tooFewRanks__throws() {
+        try {
+            new IncrementalPageRank(new CsrGraph.Builder().addEdge(1, 2).build(), new double[1]);
+            fail();
+        }
+        catch (IllegalArgumentException e) {
+            assertEquals("1 ranks for 2 nodes", e.getMessage());
+        }
+    }
+
+    private static void assertRanks(String message, IncrementalPageRank pageRank) {
+        CsrGraph graph = pageRank.toCsrGraph();
+        double[] expected = GraphFixtures.converged(graph);
+        for (int v = 0; v < graph.nodeCount(); v++) {
+            assertEquals(message + " node " + v, expected[v], pageRank.getPageRank(graph.nodeId(v)), DELTA);
+        }
+    }
+}
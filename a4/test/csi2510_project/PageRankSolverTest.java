@@ -0,0 +1,101 @@
+package csi2510_project;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @Author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class PageRankSolverTest {
+    public static final double TOLERANCE = 0.000001;
+
+    /**
+     * A mean Jacobi change of at most TOLERANCE bounds the mean error by TOLERANCE / (1 - d).
+     */
+    @Test
+    public void computePageRank__eachSolver__withinBoundOfConvergedJacobi() throws Exception {
+        for (String name : GraphFixtures.SAMPLES) {
+            CsrGraph graph = (CsrGraph) CSI2510.readGraph(name);
+            double[] exact = GraphFixtures.converged(graph);
+            for (PageRank.Solver solver : PageRank.Solver.values()) {
+                PageRank pageRank = new PageRank(TOLERANCE, 1000, solver);
+                double[] rank = pageRank.computePageRank(graph);
+                assertTrue(name + " " + solver, pageRank.getIterations() < 1000);
+                assertTrue(name + " " + solver, pageRank.getMeanChange() <= TOLERANCE);
+
+                double totalError = 0;
+                for (int v = 0; v < exact.length; v++) {
+                    totalError += Math.abs(rank[v] - exact[v]);
+                }
+                assertTrue(name + " " + solver + ": mean error " + totalError / exact.length,
+                        totalError / exact.length <= TOLERANCE / (1 - PageRank.DAMPING_FACTOR));
+            }
+        }
+    }
+
+    @Test
+    public void computePageRank__jacobi__matchesBaseline() throws Exception {
+        for (String name : GraphFixtures.SAMPLES) {
+            Graph graph = GraphFixtures.readReference(name);
+            GraphFixtures.assertRanksEqual(name, GraphFixtures.baselinePageRank(graph),
+                    new PageRank(TOLERANCE, 100, PageRank.Solver.JACOBI).computePageRank(graph), 0.0);
+        }
+    }
+
+    @Test
+    public void computePageRank__adaptive__doesNotStopOnFrozenNodes() throws Exception {
+        CsrGraph graph = (CsrGraph) CSI2510.readGraph("small_graph_2.edges");
+        double[] exact = GraphFixtures.converged(graph);
+        double[] rank = new PageRank(TOLERANCE, 1000, PageRank.Solver.ADAPTIVE).computePageRank(graph);
+        for (int v = 0; v < exact.length; v++) {
+            assertEquals(exact[v], rank[v], 1e-4);
+        }
+    }
+
+    @Test
+    public void getResiduals__eachSolver__oneForEachIteration() throws Exception {
+        CsrGraph graph = (CsrGraph) CSI2510.readGraph("email-dnc.edges");
+        for (PageRank.Solver solver : PageRank.Solver.values()) {
+            PageRank pageRank = new PageRank(TOLERANCE, 1000, solver);
+            pageRank.computePageRank(graph);
+            double[] residuals = pageRank.getResiduals();
+            assertEquals(solver.toString(), pageRank.getIterations(), residuals.length);
+            assertEquals(solver.toString(), pageRank.getMeanChange(), residuals[residuals.length - 1], 0.0);
+        }
+    }
+
+    /**
+     * Reaching maxIter must count only the iterations that ran, even after a longer computation left more residuals
+     * behind.
+     */
+    @Test
+    public void computePageRank__eachSolver__stopsAtMaxIter() throws Exception {
+        CsrGraph graph = (CsrGraph) CSI2510.readGraph("email-dnc.edges");
+        for (PageRank.Solver solver : PageRank.Solver.values()) {
+            PageRank longRun = new PageRank(0, 40, solver);
+            longRun.computePageRank(graph);
+            assertEquals(solver.toString(), 40, longRun.getIterations());
+            assertEquals(solver.toString(), 40, longRun.getResiduals().length);
+
+            PageRank pageRank = new PageRank(0, 3, solver);
+            for (int run = 0; run < 2; run++) {
+                pageRank.computePageRank(graph);
+                double[] residuals = pageRank.getResiduals();
+                assertEquals(solver.toString(), 3, pageRank.getIterations());
+                assertEquals(solver.toString(), 3, residuals.length);
+                assertEquals(solver.toString(), pageRank.getMeanChange(), residuals[2], 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void computePageRank__eachSolver__emptyGraph() {
+        CsrGraph graph = new CsrGraph.Builder().build();
+        for (PageRank.Solver solver : PageRank.Solver.values()) {
+            PageRank pageRank = new PageRank(TOLERANCE, 100, solver);
+            assertEquals(0, pageRank.computePageRank(graph).length);
+            assertEquals(pageRank.getIterations(), pageRank.getResiduals().length);
+        }
+    }
+}
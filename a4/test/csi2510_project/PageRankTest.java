@@ -0,0 +1,60 @@
+package csi2510_project;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * @Author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class PageRankTest {
+
+    @Test
+    public void computePageRank__samples__matchBaseline() throws Exception {
+        for (String name : GraphFixtures.SAMPLES) {
+            Graph graph = GraphFixtures.readReference(name);
+            GraphFixtures.assertRanksEqual(name, GraphFixtures.baselinePageRank(graph),
+                    new PageRank().computePageRank(graph), 0.0);
+        }
+    }
+
+    @Test
+    public void computePageRank__map__matchesArray() throws Exception {
+        CsrGraph graph = (CsrGraph) CSI2510.readGraph("email-dnc.edges");
+        double[] rank = new PageRank().computePageRank(graph);
+        Map<Integer, Double> pageRank = new PageRank().computePageRank(GraphFixtures.readReference("email-dnc.edges"));
+        assertEquals(graph.nodeCount(), pageRank.size());
+        for (int v = 0; v < graph.nodeCount(); v++) {
+            assertEquals(rank[v], pageRank.get(graph.nodeId(v)), 0.0);
+        }
+    }
+
+    @Test
+    public void computePageRank__workspaceReused__matchesFreshRun() throws Exception {
+        CsrGraph large = (CsrGraph) CSI2510.readGraph("email-dnc.edges");
+        CsrGraph small = (CsrGraph) CSI2510.readGraph("small_graph.edges");
+        PageRankWorkspace workspace = new PageRankWorkspace();
+        PageRank pageRank = new PageRank();
+
+        for (CsrGraph graph : new CsrGraph[]{small, large, small, large}) {
+            double[] expected = new PageRank().computePageRank(graph);
+            double[] actual = pageRank.computePageRank(graph, workspace);
+            for (int v = 0; v < graph.nodeCount(); v++) {
+                assertEquals(expected[v], actual[v], 0.0);
+            }
+        }
+        assertTrue(workspace.capacity() >= large.nodeCount());
+        assertTrue(workspace.capacity() < 2 * large.nodeCount());
+    }
+
+    @Test
+    public void computePageRank__emptyGraph__emptyRanks() {
+        CsrGraph graph = new CsrGraph.Builder().build();
+        PageRank pageRank = new PageRank();
+        assertEquals(0, pageRank.computePageRank(graph).length);
+        assertEquals(0.0, pageRank.getMeanChange(), 0.0);
+        assertTrue(pageRank.computePageRank((Graph) graph).isEmpty());
+    }
+}
@@ -0,0 +1,183 @@
+package csi2510_project;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * Every way of computing the plain PageRank against PageRank itself, on the sample graphs and a random one.
+ *
+ * @Author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class PageRankVariantsTest {
+    private static final double DELTA = 1e-9;    // summation order only
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static List<CsrGraph> graphs() throws Exception {
+        List<CsrGraph> graphs = new ArrayList<>();
+        for (String name : GraphFixtures.SAMPLES) {
+            graphs.add((CsrGraph) CSI2510.readGraph(name));
+        }
+        graphs.add(GraphFixtures.random(5000, 40000, 5));
+        graphs.add(new CsrGraph.Builder().build());
+        return graphs;
+    }
+
+    @Test
+    public void parallel__matchesPageRank() throws Exception {
+        for (CsrGraph graph : graphs()) {
+            Map<Integer, Double> expected = new PageRank().computePageRank((Graph) graph);
+            for (int threads : new int[]{1, 3, 8}) {
+                try (ParallelPageRank actual = new ParallelPageRank(threads)) {
+                    GraphFixtures.assertRanksEqual("parallel " + threads, expected, actual.computePageRank((Graph) graph),
+                            DELTA);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void parallel__maxIter__countsIterationsRun() throws Exception {
+        CsrGraph graph = (CsrGraph) CSI2510.readGraph("email-dnc.edges");
+        try (ParallelPageRank pageRank = new ParallelPageRank(0, 3, 2)) {
+            pageRank.computePageRank(graph);
+            assertEquals(3, pageRank.getIterations());
+            assertTrue(pageRank.getMeanChange() > 0);
+        }
+    }
+
+    @Test
+    public void parallel__close__shutsDownOwnPoolOnly() throws Exception {
+        CsrGraph graph = (CsrGraph) CSI2510.readGraph("small_graph.edges");
+        ForkJoinPool shared = new ForkJoinPool(2);
+        try {
+            try (ParallelPageRank pageRank = new ParallelPageRank(0.000001, 100, shared)) {
+                pageRank.computePageRank(graph);
+            }
+            assertFalse(shared.isShutdown());
+            try (ParallelPageRank pageRank = new ParallelPageRank(0.000001, 100, shared)) {
+                GraphFixtures.assertRanksEqual("shared", new PageRank().computePageRank((Graph) graph),
+                        pageRank.computePageRank((Graph) graph), DELTA);
+            }
+        }
+        finally {
+            shared.shutdown();
+        }
+    }
+
+    @Test
+    public void blocked__matchesPageRank() throws Exception {
+        for (CsrGraph graph : graphs()) {
+            PageRank expected = new PageRank();
+            double[] rank = expected.computePageRank(graph);
+            for (NodeOrdering.Order ordering : NodeOrdering.Order.values()) {
+                for (int blockNodes : new int[]{64, BlockedPageRank.DEFAULT_BLOCK_NODES}) {
+                    BlockedPageRank actual = new BlockedPageRank(blockNodes, ordering);
+                    String message = "blocked " + ordering + " " + blockNodes;
+                    GraphFixtures.assertRanksEqual(message, rank, actual.computePageRank(graph), DELTA);
+                    assertEquals(message, expected.getIterations(), actual.getIterations());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void blocked__unordered__identical() throws Exception {
+        CsrGraph graph = (CsrGraph) CSI2510.readGraph("email-dnc.edges");
+        assertArrayEquals(new PageRank().computePageRank(graph),
+                new BlockedPageRank(256, NodeOrdering.Order.NONE).computePageRank(graph), 0.0);
+    }
+
+    @Test
+    public void blocked__maxIter__countsIterationsRun() throws Exception {
+        CsrGraph graph = (CsrGraph) CSI2510.readGraph("email-dnc.edges");
+        BlockedPageRank pageRank = new BlockedPageRank(0, 3, 64, NodeOrdering.Order.NONE);
+        pageRank.computePageRank(graph);
+        assertEquals(3, pageRank.getIterations());
+        assertTrue(pageRank.getMeanChange() > 0);
+    }
+
+    @Test
+    public void vector__double__matchesPageRank() throws Exception {
+        for (CsrGraph graph : graphs()) {
+            PageRank expected = new PageRank();
+            double[] rank = expected.computePageRank(graph);
+            VectorPageRank actual = new VectorPageRank(VectorPageRank.Precision.DOUBLE);
+            GraphFixtures.assertRanksEqual("vector", rank, actual.computePageRank(graph), DELTA);
+            assertEquals(expected.getIterations(), actual.getIterations());
+        }
+    }
+
+    @Test
+    public void vector__float__closeToPageRank() throws Exception {
+        for (CsrGraph graph : graphs()) {
+            double[] rank = new PageRank().computePageRank(graph);
+            double[] actual = new VectorPageRank(VectorPageRank.Precision.FLOAT).computePageRank(graph);
+            assertEquals(rank.length, actual.length);
+            for (int v = 0; v < rank.length; v++) {
+                assertEquals("float node " + v, rank[v], actual[v], 1e-5 * rank[v]);
+            }
+        }
+    }
+
+    @Test
+    public void vector__maxIter__countsIterationsRun() throws Exception {
+        CsrGraph graph = (CsrGraph) CSI2510.readGraph("email-dnc.edges");
+        for (VectorPageRank.Precision precision : VectorPageRank.Precision.values()) {
+            VectorPageRank pageRank = new VectorPageRank(0, 3, precision);
+            pageRank.computePageRank(graph);
+            assertEquals(precision.toString(), 3, pageRank.getIterations());
+            assertTrue(precision.toString(), pageRank.getMeanChange() > 0);
+        }
+    }
+
+    @Test
+    public void mapped__matchesPageRank() throws Exception {
+        for (CsrGraph graph : graphs()) {
+            Path file = folder.newFile().toPath();
+            BinaryGraphFile.write(graph, null, file);
+            MappedGraph mapped = MappedGraph.open(file);
+            double[] rank = new PageRank().computePageRank(graph);
+            assertArrayEquals(rank, new PageRank().computePageRank(CsrGraph.of(mapped)), 0.0);
+        }
+    }
+
+    @Test
+    public void streaming__matchesPageRank() throws Exception {
+        for (String name : GraphFixtures.SAMPLES) {
+            CsrGraph graph = (CsrGraph) CSI2510.readGraph(name);
+            AdjacencyFile file;
+            try (InputStream in = CSI2510.class.getResourceAsStream(name)) {
+                file = AdjacencyFile.write(in, folder.newFolder().toPath().resolve("graph.adj"), 1000);
+            }
+
+            PageRank expected = new PageRank();
+            double[] rank = expected.computePageRank(graph);
+            StreamingPageRank actual = new StreamingPageRank();
+            GraphFixtures.assertRanksEqual(name, rank, actual.computePageRank(file), DELTA);
+            assertEquals(expected.getIterations(), actual.getIterations());
+        }
+    }
+
+    @Test
+    public void streaming__maxIter__countsIterationsRun() throws Exception {
+        AdjacencyFile file;
+        try (InputStream in = CSI2510.class.getResourceAsStream("email-dnc.edges")) {
+            file = AdjacencyFile.write(in, folder.newFolder().toPath().resolve("graph.adj"), 1000);
+        }
+        StreamingPageRank pageRank = new StreamingPageRank(0, 3);
+        pageRank.computePageRank(file);
+        assertEquals(3, pageRank.getIterations());
+    }
+}
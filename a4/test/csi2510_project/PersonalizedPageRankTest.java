@@ -0,0 +1,123 @@
+package csi2510_project;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @Author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class PersonalizedPageRankTest {
+
+    @Test
+    public void computeForSeeds__batch__matchesOneAtATime() throws Exception {
+        CsrGraph graph = (CsrGraph) CSI2510.readGraph("email-dnc.edges");
+        Random rng = new Random(11);
+        int[] seeds = new int[PersonalizedPageRank.BATCH_SIZE + 5];
+        for (int i = 0; i < seeds.length; i++) {
+            seeds[i] = rng.nextInt(graph.nodeCount());
+        }
+
+        PersonalizedPageRank pageRank = new PersonalizedPageRank();
+        double[][] batch = pageRank.computeForSeeds(graph, seeds);
+        int batchIterations = pageRank.getIterations();
+        int mostIterations = 0;
+        for (int i = 0; i < seeds.length; i++) {
+            double[] single = pageRank.computeForSeeds(graph, new int[]{seeds[i]})[0];
+            mostIterations = Math.max(mostIterations, pageRank.getIterations());
+            assertArrayEquals("seed " + seeds[i], single, batch[i], 0.0);
+        }
+        assertEquals(mostIterations, batchIterations);
+    }
+
+    @Test
+    public void computePageRanks__batch__matchesOneAtATime() {
+        CsrGraph graph = GraphFixtures.random(500, 2000, 12);
+        Random rng = new Random(13);
+        double[][] teleports = new double[20][graph.nodeCount()];
+        for (double[] teleport : teleports) {
+            for (int v = 0; v < teleport.length; v++) {
+                teleport[v] = rng.nextInt(4) == 0 ? rng.nextDouble() : 0;
+            }
+        }
+
+        PersonalizedPageRank pageRank = new PersonalizedPageRank();
+        double[][] batch = pageRank.computePageRanks(graph, teleports);
+        for (int i = 0; i < teleports.length; i++) {
+            assertArrayEquals("vector " + i, pageRank.computePageRank(graph, teleports[i]), batch[i], 0.0);
+        }
+    }
+
+    @Test
+    public void computePageRank__sumsToOne() throws Exception {
+        for (String name : GraphFixtures.SAMPLES) {
+            double[] rank = new PersonalizedPageRank().computePageRank((CsrGraph) CSI2510.readGraph(name), null);
+            double sum = 0;
+            for (double r : rank) {
+                sum += r;
+            }
+            assertEquals(name, 1.0, sum, 1e-9);
+        }
+    }
+
+    @Test
+    public void computePageRank__noDanglingNodes__proportionalToPageRank() {
+        CsrGraph graph = new CsrGraph.Builder().addEdge(1, 2).addEdge(2, 3).addEdge(3, 1).addEdge(1, 3).build();
+        double[] expected = GraphFixtures.converged(graph);
+        double[] rank = new PersonalizedPageRank(1e-13, 10000).computePageRank(graph, null);
+        for (int v = 0; v < rank.length; v++) {
+            assertEquals(expected[v] / graph.nodeCount(), rank[v], 1e-12);
+        }
+    }
+
+    @Test
+    public void computePageRank__emptyGraph__emptyRanks() {
+        CsrGraph graph = new CsrGraph.Builder().build();
+        PersonalizedPageRank pageRank = new PersonalizedPageRank();
+        assertEquals(0, pageRank.computePageRank(graph, null).length);
+        assertTrue(pageRank.computePageRank((Graph) graph).isEmpty());
+        assertEquals(0, pageRank.computePageRanks(graph, new double[][]{{}, {}})[1].length);
+        assertEquals(0, pageRank.computeForSeeds(graph, new int[0]).length);
+    }
+
+    @Test
+    public void computePageRank__maxIter__countsIterationsRun() throws Exception {
+        PersonalizedPageRank pageRank = new PersonalizedPageRank(0, 3);
+        pageRank.computeForSeeds((CsrGraph) CSI2510.readGraph("email-dnc.edges"), new int[]{0, 1, 2});
+        assertEquals(3, pageRank.getIterations());
+    }
+
+    @Test
+    public void computeForSeeds__unknownSeed__throws() {
+        assertInvalid("Seed is not a node: 2",
+                () -> new PersonalizedPageRank().computeForSeeds(new CsrGraph.Builder().addEdge(1, 2).build(),
+                        new int[]{0, 2}));
+    }
+
+    @Test
+    public void computePageRanks__invalidTeleport__throws() {
+        CsrGraph graph = new CsrGraph.Builder().addEdge(1, 2).build();
+        assertInvalid("Teleport vector 1 has 3 weights for 2 nodes",
+                () -> new PersonalizedPageRank().computePageRanks(graph, new double[][]{{1, 1}, {1, 1, 1}}));
+        assertInvalid("Teleport vector 0 is null",
+                () -> new PersonalizedPageRank().computePageRanks(graph, new double[][]{null}));
+        assertInvalid("Teleport vector 0 has a negative weight at node 1: -1.0",
+                () -> new PersonalizedPageRank().computePageRanks(graph, new double[][]{{1, -1}}));
+        assertInvalid("Teleport vector 0 has a non-finite weight at node 0: NaN",
+                () -> new PersonalizedPageRank().computePageRank(graph, new double[]{Double.NaN, 1}));
+        assertInvalid("Teleport vector 1 has weights summing to 0.0",
+                () -> new PersonalizedPageRank().computePageRanks(graph, new double[][]{{0, 1}, {0, 0}}));
+    }
+
+    private static void assertInvalid(String message, Runnable call) {
+        try {
+            call.run();
+            fail(message);
+        }
+        catch (IllegalArgumentException e) {
+            assertEquals(message, e.getMessage());
+        }
+    }
+}
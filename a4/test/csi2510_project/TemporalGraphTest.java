@@ -0,0 +1,210 @@
+package csi2510_project;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * TemporalGraph windows and SlidingWindowPageRank, against windows rebuilt from the raw rows of email-dnc.edges.
+ *
+ * @Author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class TemporalGraphTest {
+    private static final double EPSILON = 1e-10;
+    private static final double DELTA = 1e-6;
+    private static final long DAY = 24 * 60 * 60;
+
+    private static TemporalGraph graph;
+    private static List<long[]> rows;    // from, to, timestamp of each row, in file order
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        graph = CSI2510.readTemporalGraph("email-dnc.edges");
+        rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                CSI2510.class.getResourceAsStream("email-dnc.edges"), StandardCharsets.UTF_8))) {
+            reader.readLine();
+            String row;
+            while ((row = reader.readLine()) != null) {
+                String[] data = row.split(",");
+                rows.add(new long[]{Long.parseLong(data[0]), Long.parseLong(data[1]), Long.parseLong(data[2])});
+            }
+        }
+    }
+
+    @Test
+    public void read__keepsEveryRowInTimestampOrder() {
+        assertEquals(rows.size(), graph.rowCount());
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        for (long[] row : rows) {
+            first = Math.min(first, row[2]);
+            last = Math.max(last, row[2]);
+        }
+        assertEquals(first, graph.firstTimestamp());
+        assertEquals(last, graph.lastTimestamp());
+        for (int r = 1; r < graph.rowCount(); r++) {
+            assertTrue(graph.timestamp(r - 1) <= graph.timestamp(r));
+        }
+        CsrGraph all = graph.graph();
+        for (int r = 0; r < graph.rowCount(); r++) {
+            int edge = graph.edge(r);
+            assertEquals(graph.target(r), all.target(edge));
+            assertTrue(edge >= all.offset(graph.source(r)) && edge < all.offset(graph.source(r) + 1));
+        }
+    }
+
+    @Test
+    public void read__noTimestamps__sortFirst() throws Exception {
+        TemporalGraph untimed = TemporalGraph.read(stream("1,1,1\n1,2\n2,3,5\n3,1\n"));
+        assertEquals(3, untimed.rowCount());
+        assertEquals(EdgeListReader.NO_TIMESTAMP, untimed.firstTimestamp());
+        assertEquals(5, untimed.lastTimestamp());
+        assertEquals(2, untimed.window(Long.MIN_VALUE, 0).edgeCount());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void firstTimestamp__noRows__throws() throws Exception {
+        TemporalGraph.read(stream("1,1,1\n")).firstTimestamp();
+    }
+
+    @Test
+    public void rowAt__bounds() {
+        assertEquals(0, graph.rowAt(Long.MIN_VALUE));
+        assertEquals(0, graph.rowAt(graph.firstTimestamp()));
+        assertEquals(graph.rowCount(), graph.rowAt(graph.lastTimestamp() + 1));
+        assertEquals(graph.rowCount(), graph.rowAt(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void window__matchesRows() {
+        long start = graph.firstTimestamp();
+        long end = graph.lastTimestamp() + 1;
+        assertEquals(edges(start, end), edges(graph.window(start, end)));
+        assertEquals(graph.graph().edgeCount(), graph.window(start, end).edgeCount());
+
+        long middle = graph.timestamp(graph.rowCount() / 2);
+        for (long length : new long[]{1, DAY, 7 * DAY}) {
+            assertEquals(edges(middle, middle + length), edges(graph.window(middle, middle + length)));
+        }
+    }
+
+    @Test
+    public void window__empty() {
+        long middle = graph.timestamp(graph.rowCount() / 2);
+        assertEquals(0, graph.window(middle, middle).nodeCount());
+        assertEquals(0, graph.window(middle + DAY, middle).nodeCount());
+        assertEquals(0, graph.window(graph.lastTimestamp() + 1, Long.MAX_VALUE).nodeCount());
+    }
+
+    @Test
+    public void slide__forward__matchesRecompute() {
+        SlidingWindowPageRank pageRank = new SlidingWindowPageRank(graph, EPSILON);
+        long from = graph.timestamp(graph.rowCount() / 2);
+        for (int step = 0; step < 10; step++, from += DAY / 2) {
+            pageRank.slide(from, from + 7 * DAY);
+            assertWindow("step " + step, pageRank, from, from + 7 * DAY);
+        }
+    }
+
+    @Test
+    public void slide__backwardsJumpsAndEmpty__matchRecompute() {
+        SlidingWindowPageRank pageRank = new SlidingWindowPageRank(graph, EPSILON);
+        long middle = graph.timestamp(graph.rowCount() / 2);
+        long[][] windows = {
+                {middle, middle + 3 * DAY},
+                {middle, middle + 3 * DAY},              // unchanged
+                {middle + DAY, middle + 3 * DAY},        // only rows leaving
+                {middle + DAY, middle + 5 * DAY},        // only rows entering
+                {middle - DAY, middle + 2 * DAY},        // backwards
+                {middle + 30 * DAY, middle + 31 * DAY},  // no overlap
+                {middle, middle},                        // empty
+                {middle - 2 * DAY, middle + DAY},
+                {graph.firstTimestamp(), graph.lastTimestamp() + 1},
+        };
+        for (long[] window : windows) {
+            pageRank.slide(window[0], window[1]);
+            assertWindow(window[0] + ".." + window[1], pageRank, window[0], window[1]);
+        }
+    }
+
+    /**
+     * Each slide must give the ranks that building the window and ranking it with a fresh PageRank gives, window
+     * after window, whether consecutive windows overlap, just touch, or leave a gap.
+     */
+    @Test
+    public void slide__consecutiveWindows__matchesWindowThenPageRank() {
+        long middle = graph.timestamp(graph.rowCount() / 2);
+        for (long step : new long[]{DAY, 7 * DAY, 10 * DAY}) {
+            SlidingWindowPageRank pageRank = new SlidingWindowPageRank(graph, EPSILON);
+            long from = middle;
+            for (int window = 0; window < 6; window++, from += step) {
+                pageRank.slide(from, from + 7 * DAY);
+                Graph rebuilt = graph.window(from, from + 7 * DAY);
+                Map<Integer, Double> expected = new PageRank(1e-12, 100000).computePageRank(rebuilt);
+                GraphFixtures.assertRanksEqual("step " + step + " window " + window, expected,
+                        pageRank.getPageRank(), DELTA);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getPageRank__nodeOutsideWindow__throws() {
+        SlidingWindowPageRank pageRank = new SlidingWindowPageRank(graph, EPSILON);
+        long middle = graph.timestamp(graph.rowCount() / 2);
+        pageRank.slide(middle, middle + 1);
+        Set<Integer> inWindow = pageRank.getPageRank().keySet();
+        for (int v = 0; v < graph.graph().nodeCount(); v++) {
+            if (!inWindow.contains(graph.graph().nodeId(v))) {
+                pageRank.getPageRank(graph.graph().nodeId(v));
+            }
+        }
+    }
+
+    private static void assertWindow(String message, SlidingWindowPageRank pageRank, long from, long to) {
+        CsrGraph window = graph.window(from, to);
+        double[] expected = GraphFixtures.converged(window);
+        Map<Integer, Double> expectedById = new HashMap<>();
+        for (int v = 0; v < window.nodeCount(); v++) {
+            expectedById.put(window.nodeId(v), expected[v]);
+        }
+        assertEquals(message, window.nodeCount(), pageRank.nodeCount());
+        GraphFixtures.assertRanksEqual(message, expectedById, pageRank.getPageRank(), DELTA);
+    }
+
+    private static Set<Long> edges(long from, long to) {
+        Set<Long> edges = new HashSet<>();
+        for (long[] row : rows) {
+            if (row[2] >= from && row[2] < to) {
+                edges.add(row[0] << 32 | row[1]);
+            }
+        }
+        return edges;
+    }
+
+    private static Set<Long> edges(CsrGraph window) {
+        Set<Long> edges = new HashSet<>();
+        for (int u = 0; u < window.nodeCount(); u++) {
+            for (int e = window.offset(u); e < window.offset(u + 1); e++) {
+                edges.add((long) window.nodeId(u) << 32 | window.nodeId(window.target(e)));
+            }
+        }
+        return edges;
+    }
+
+    private static ByteArrayInputStream stream(String edgeList) {
+        return new ByteArrayInputStream(edgeList.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,96 @@
+package csi2510_project;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @Author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class TopRanksTest {
+
+    @Test
+    public void select__matchesFullSort() {
+        Random rng = new Random(9);
+        for (int n : new int[]{0, 1, 2, 10, 1000}) {
+            double[] rank = new double[n + 3];    // longer than nodeCount
+            for (int v = 0; v < rank.length; v++) {
+                rank[v] = rng.nextInt(50) / 7.0;    // many ties
+            }
+            for (int k : new int[]{0, 1, 5, n, n + 10}) {
+                assertArrayEquals("n=" + n + " k=" + k, sorted(rank, n, k), TopRanks.select(rank, n, k));
+            }
+        }
+    }
+
+    @Test
+    public void select__graph__matchesFullSort() throws Exception {
+        CsrGraph graph = (CsrGraph) CSI2510.readGraph("email-dnc.edges");
+        double[] rank = new PageRank().computePageRank(graph);
+        Map<Integer, Double> top = TopRanks.select(graph, rank, 20);
+        int[] expected = sorted(rank, graph.nodeCount(), 20);
+        List<Integer> ids = new ArrayList<>(top.keySet());
+        assertEquals(20, ids.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(graph.nodeId(expected[i]), (int) ids.get(i));
+            assertEquals(rank[expected[i]], top.get(ids.get(i)), 0.0);
+        }
+    }
+
+    @Test
+    public void select__map__matchesFullSort() {
+        Random rng = new Random(10);
+        Map<Integer, Double> pageRank = new HashMap<>();
+        for (int i = 0; i < 500; i++) {
+            pageRank.put(rng.nextInt(100000) - 50000, rng.nextInt(30) / 3.0);
+        }
+        List<Map.Entry<Integer, Double>> entries = new ArrayList<>(pageRank.entrySet());
+        entries.sort((a, b) -> a.getValue().equals(b.getValue())
+                ? Integer.compare(a.getKey(), b.getKey()) : Double.compare(b.getValue(), a.getValue()));
+        for (int k : new int[]{0, 1, 7, 500, 600}) {
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < Math.min(k, entries.size()); i++) {
+                expected.add(entries.get(i).getKey());
+            }
+            assertEquals("k=" + k, expected, new ArrayList<>(TopRanks.select(pageRank, k).keySet()));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void select__negativeK__throws() {
+        TopRanks.select(new double[3], 3, -1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void select__nodeCountTooLarge__throws() {
+        TopRanks.select(new double[3], 4, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void select__map__negativeK__throws() {
+        TopRanks.select(new HashMap<>(), -1);
+    }
+
+    /**
+     * The first k of all nodes sorted by decreasing rank, then increasing index.
+     */
+    private static int[] sorted(double[] rank, int nodeCount, int k) {
+        Integer[] nodes = new Integer[nodeCount];
+        for (int v = 0; v < nodeCount; v++) {
+            nodes[v] = v;
+        }
+        Arrays.sort(nodes, (a, b) -> rank[a] == rank[b] ? Integer.compare(a, b) : Double.compare(rank[b], rank[a]));
+        int[] top = new int[Math.min(k, nodeCount)];
+        for (int i = 0; i < top.length; i++) {
+            top[i] = nodes[i];
+        }
+        return top;
+    }
+}
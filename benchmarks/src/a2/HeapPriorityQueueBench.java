@@ -0,0 +1,73 @@
+package a2;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Steady-state HeapPriorityQueue operations: the queue is filled to size, then every invocation inserts one random key
+ * and removes one entry, so the size stays constant.
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HeapPriorityQueueBench {
+    @Param({"10000", "1000000"})
+    int size;
+
+    @Param({"2", "4", "8"})
+    int arity;
+
+    private HeapPriorityQueue<Integer, Integer> pq;
+    private LongDoubleEndedHeap primitive;
+    private Random rng;
+    private boolean flip;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        rng = new Random(12345);
+        pq = new HeapPriorityQueue<>(size + 2, false, false, Comparator.naturalOrder(), arity);
+        primitive = new LongDoubleEndedHeap(size + 2);
+        for (int i = 0; i < size; i++) {
+            int key = rng.nextInt();
+            pq.insert(key, i);
+            primitive.insert(key, i);
+        }
+    }
+
+    @Benchmark
+    public Entry<Integer, Integer> insertRemoveMin() {
+        pq.insert(rng.nextInt(), 0);
+        return pq.removeMin();
+    }
+
+    @Benchmark
+    public Entry<Integer, Integer> insertRemoveMax() {
+        pq.insert(rng.nextInt(), 0);
+        return pq.removeMax();
+    }
+
+    @Benchmark
+    public Entry<Integer, Integer> insertRemoveMix() {
+        pq.insert(rng.nextInt(), 0);
+        flip = !flip;
+        return flip ? pq.removeMin() : pq.removeMax();
+    }
+
+    /**
+     * The same mix on the primitive heap, which is always binary; compare against arity = 2.
+     */
+    @Benchmark
+    public int primitiveInsertRemoveMix() {
+        primitive.insert(rng.nextInt(), 0);
+        flip = !flip;
+        return flip ? primitive.removeMin() : primitive.removeMax();
+    }
+}
@@ -0,0 +1,124 @@
+package a2;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole-queue HeapPriorityQueue workloads: every invocation builds a queue from the same keys and, for the drain and
+ * mix cases, empties it again. Random keys sift up O(1) levels on average, while ascending keys make every maxHeap
+ * insert climb to the root.
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HeapPriorityQueueBulkBench {
+    @Param({"100000", "1000000"})
+    int size;
+
+    @Param({"random", "ascending"})
+    String keyOrder;
+
+    private int[] keys;
+    private List<Entry<Integer, Integer>> entries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random rng = new Random(12345);
+        keys = new int[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = rng.nextInt();
+        }
+        if (keyOrder.equals("ascending"))
+            Arrays.sort(keys);
+
+        entries = new ArrayList<>(size);
+        for (int key : keys) {
+            entries.add(new Entry<>(key, key));
+        }
+    }
+
+    @Benchmark
+    public HeapPriorityQueue<Integer, Integer> insertFixedCapacity() {
+        return insertAll(new HeapPriorityQueue<>(size));
+    }
+
+    @Benchmark
+    public HeapPriorityQueue<Integer, Integer> insertUnbounded() {
+        return insertAll(new HeapPriorityQueue<>(100, true, false));
+    }
+
+    @Benchmark
+    public HeapPriorityQueue<Integer, Integer> bulkBuild() {
+        return HeapPriorityQueue.of(entries);
+    }
+
+    /**
+     * Alternates removeMin and removeMax until the queue is empty.
+     */
+    @Benchmark
+    public int insertDrain() {
+        HeapPriorityQueue<Integer, Integer> pq = insertAll(new HeapPriorityQueue<>(size));
+        int count = 0;
+        while (!pq.isEmpty()) {
+            pq.removeMin();
+            if (pq.removeMax() != null)
+                count++;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Empties the queue from both ends 1000 entries at a time.
+     */
+    @Benchmark
+    public int insertBatchDrain() {
+        HeapPriorityQueue<Integer, Integer> pq = insertAll(new HeapPriorityQueue<>(size));
+        List<Entry<Integer, Integer>> out = new ArrayList<>(1000);
+        int count = 0;
+        while (!pq.isEmpty()) {
+            out.clear();
+            count += pq.removeMin(1000, out);
+            out.clear();
+            count += pq.removeMax(1000, out);
+        }
+        return count;
+    }
+
+    /**
+     * Steady state: the queue stays at half the key count while every key passes through it.
+     */
+    @Benchmark
+    public int insertRemoveMix() {
+        HeapPriorityQueue<Integer, Integer> pq = new HeapPriorityQueue<>(size);
+        int half = size / 2;
+        for (int i = 0; i < half; i++) {
+            pq.insert(keys[i], i);
+        }
+        for (int i = half; i < size; i++) {
+            pq.insert(keys[i], i);
+            if ((i & 1) == 0)
+                pq.removeMin();
+            else
+                pq.removeMax();
+        }
+        return pq.size();
+    }
+
+    private HeapPriorityQueue<Integer, Integer> insertAll(HeapPriorityQueue<Integer, Integer> pq) {
+        for (int key : keys) {
+            pq.insert(key, key);
+        }
+        return pq;
+    }
+}
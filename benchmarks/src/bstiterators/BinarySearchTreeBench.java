@@ -0,0 +1,57 @@
+package bstiterators;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full traversals of a random BinarySearchTree with each of its iterators.
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BinarySearchTreeBench {
+    @Param({"1000", "100000"})
+    int size;
+
+    private BinarySearchTree<Integer, Integer> bst;
+
+    @Setup
+    public void setUp() {
+        Random rng = new Random(12345);
+        bst = new BinarySearchTree<>();
+        for (int i = 0; i < size; i++) {
+            int key = rng.nextInt();
+            bst.put(key, key);
+        }
+    }
+
+    @Benchmark
+    public void preorder(Blackhole bh) {
+        consume(bst.getPreorderIterator(), bh);
+    }
+
+    @Benchmark
+    public void inorder(Blackhole bh) {
+        consume(bst.getInorderIterator(), bh);
+    }
+
+    @Benchmark
+    public void postorder(Blackhole bh) {
+        consume(bst.getPostorderIterator(), bh);
+    }
+
+    private static void consume(Iterator<Integer> iterator, Blackhole bh) {
+        while (iterator.hasNext()) {
+            bh.consume(iterator.next());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package csi2510_project;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ranks a batch of small per-tenant graphs on the shared pool against ranking them one by one with fresh buffers,
+ * as TestPageRank does.
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchPageRankBench {
+    @Param({"1000"})
+    int graphCount;
+
+    @Param({"2000:20000"})
+    String graphSize;
+
+    private List<CsrGraph> graphs;
+    private BatchPageRank batch;
+
+    @Setup
+    public void setUp() {
+        String[] size = graphSize.split(":");
+        graphs = new ArrayList<>(graphCount);
+        for (int i = 0; i < graphCount; i++) {
+            graphs.add(SyntheticGraphs.powerLaw(Integer.parseInt(size[0]), Integer.parseInt(size[1]), i));
+        }
+        batch = new BatchPageRank();
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (batch.graphs() > 0) {
+            System.out.println();
+            System.out.println(batch.statistics());
+        }
+        batch.close();
+    }
+
+    @Benchmark
+    public List<BatchPageRank.Ranking> rankBatch() {
+        return batch.rankGraphs(graphs);
+    }
+
+    @Benchmark
+    public long rankSequentially() {
+        long iterations = 0;
+        for (CsrGraph graph : graphs) {
+            PageRank pageRank = new PageRank();
+            pageRank.computePageRank(graph);
+            iterations += pageRank.getIterations();
+        }
+        return iterations;
+    }
+}
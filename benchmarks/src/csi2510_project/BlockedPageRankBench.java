@@ -0,0 +1,48 @@
+package csi2510_project;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ranks large power-law graphs tile by tile against PageRank's scatter over the whole vector, each with the nodes
+ * in their generated order or renumbered for locality. Renumbering and tiling happen in setup.
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class BlockedPageRankBench {
+    @Param({"powerlaw:1000000:10000000", "powerlaw:2000000:20000000"})
+    String graph;
+
+    @Param({"NONE", "DEGREE", "BFS"})
+    NodeOrdering.Order ordering;
+
+    @Param({"32768"})
+    int blockNodes;
+
+    private CsrGraph renumbered;
+    private TiledGraph tiled;
+    private final PageRankWorkspace workspace = new PageRankWorkspace();
+
+    @Setup
+    public void setUp() throws Exception {
+        renumbered = NodeOrdering.apply(CsrGraph.of(SyntheticGraphs.load(graph)), ordering);
+        tiled = TiledGraph.of(renumbered, blockNodes);
+    }
+
+    @Benchmark
+    public double[] computeBlocked() {
+        return new BlockedPageRank(blockNodes, ordering).computePageRank(tiled, workspace);
+    }
+
+    @Benchmark
+    public double[] computeUnblocked() {
+        return new PageRank().computePageRank(renumbered, workspace);
+    }
+}
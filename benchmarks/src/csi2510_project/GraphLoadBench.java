@@ -0,0 +1,73 @@
+package csi2510_project;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares parsing an edge list against mapping the same graph from a binary graph file.
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GraphLoadBench {
+    @Param({"email-dnc.edges", "powerlaw:1000000:10000000"})
+    String graph;
+
+    private Path directory;
+    private Path edgeList;
+    private Path binary;
+
+    @Setup
+    public void setUp() throws Exception {
+        CsrGraph loaded = CsrGraph.of(SyntheticGraphs.load(graph));
+        directory = Files.createTempDirectory("graph-load");
+        edgeList = directory.resolve("graph.edges");
+        binary = directory.resolve("graph.csr");
+
+        try (PrintWriter out = new PrintWriter(new BufferedWriter(Files.newBufferedWriter(edgeList)))) {
+            out.println("1,1,1");    // header, skipped like the sample files'
+            for (int u = 0; u < loaded.nodeCount(); u++) {
+                for (int e = loaded.offset(u); e < loaded.offset(u + 1); e++) {
+                    out.println(loaded.nodeId(u) + "," + loaded.nodeId(loaded.target(e)));
+                }
+            }
+        }
+        BinaryGraphFile.write(loaded, null, binary);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(edgeList);
+        Files.deleteIfExists(binary);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public CsrGraph parseEdgeList() throws IOException {
+        return new EdgeListReader().readGraph(edgeList);
+    }
+
+    @Benchmark
+    public MappedGraph mapBinary() throws IOException {
+        return MappedGraph.open(binary);
+    }
+
+    /**
+     * Mapping plus the bulk copy a rank computation needs.
+     */
+    @Benchmark
+    public CsrGraph mapBinaryToCsr() throws IOException {
+        return MappedGraph.open(binary).toCsrGraph();
+    }
+}
@@ -0,0 +1,55 @@
+package csi2510_project;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies a small batch of edge insertions and deletions to a ranked graph, to compare against recomputing it with
+ * PageRankBench.computePageRankInWorkspace.
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IncrementalPageRankBench {
+    @Param({"email-dnc.edges", "powerlaw:100000:1000000"})
+    String graph;
+
+    @Param({"10"})
+    int batchSize;
+
+    private CsrGraph loaded;
+    private IncrementalPageRank pageRank;
+    private final Random rng = new Random(12345);
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        loaded = CsrGraph.of(SyntheticGraphs.load(graph));
+        pageRank = new IncrementalPageRank(loaded, new PageRank().computePageRank(loaded));
+    }
+
+    /**
+     * Adds a batch of random edges and removes them again, so the graph does not drift between invocations.
+     */
+    @Benchmark
+    public long updateBatch() {
+        int[] from = new int[batchSize];
+        int[] to = new int[batchSize];
+        for (int i = 0; i < batchSize; i++) {
+            from[i] = loaded.nodeId(rng.nextInt(loaded.nodeCount()));
+            to[i] = loaded.nodeId(rng.nextInt(loaded.nodeCount()));
+            pageRank.addEdge(from[i], to[i]);
+        }
+        long pushes = pageRank.propagate();
+        for (int i = 0; i < batchSize; i++) {
+            pageRank.removeEdge(from[i], to[i]);
+        }
+        return pushes + pageRank.propagate();
+    }
+}
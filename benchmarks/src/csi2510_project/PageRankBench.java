@@ -0,0 +1,51 @@
+package csi2510_project;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads and ranks the sample edge lists and generated power-law graphs.
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageRankBench {
+    @Param({"email-dnc.edges", "powerlaw:100000:1000000"})
+    String graph;
+
+    private Graph loaded;
+    private final PageRankWorkspace workspace = new PageRankWorkspace();
+
+    @Setup
+    public void setUp() throws Exception {
+        loaded = SyntheticGraphs.load(graph);
+    }
+
+    @Benchmark
+    public Map<Integer, Double> computePageRank() {
+        return new PageRank().computePageRank(loaded);
+    }
+
+    /**
+     * The dense core alone, reusing one workspace so no iteration allocates.
+     */
+    @Benchmark
+    public double[] computePageRankInWorkspace() {
+        return new PageRank().computePageRank(CsrGraph.of(loaded), workspace);
+    }
+
+    /**
+     * Builds the graph from scratch: parses the edge list, or generates the power-law graph.
+     */
+    @Benchmark
+    public Graph readGraph() throws Exception {
+        return SyntheticGraphs.load(graph);
+    }
+}
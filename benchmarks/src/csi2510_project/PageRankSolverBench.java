@@ -0,0 +1,61 @@
+package csi2510_project;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the wall time of the PageRank solvers, which all stop on the same Jacobi residual; each trial also prints
+ * the iteration count and per-iteration residuals of its solver, and how far its ranks are from tightly converged
+ * Jacobi ranks, so the solvers are compared at equal accuracy.
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageRankSolverBench {
+    @Param({"email-dnc.edges", "powerlaw:1000000:10000000"})
+    String graph;
+
+    @Param({"JACOBI", "GAUSS_SEIDEL", "EXTRAPOLATION", "ADAPTIVE"})
+    PageRank.Solver solver;
+
+    private CsrGraph loaded;
+    private PageRank pageRank;
+    private double[] reference;
+    private double[] rank;
+    private final PageRankWorkspace workspace = new PageRankWorkspace();
+
+    @Setup
+    public void setUp() throws Exception {
+        loaded = CsrGraph.of(SyntheticGraphs.load(graph));
+        loaded.transpose();
+        pageRank = new PageRank(0.000001, 100, solver);
+        reference = new PageRank(1e-12, 10000).computePageRank(loaded);
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.println();
+        double maxError = 0;
+        double totalError = 0;
+        for (int v = 0; v < reference.length; v++) {
+            double error = Math.abs(rank[v] - reference[v]);
+            maxError = Math.max(maxError, error);
+            totalError += error;
+        }
+        System.out.println(solver + ": " + pageRank.getIterations() + " iterations, residuals " + Arrays.toString(pageRank.getResiduals()));
+        System.out.println(solver + ": max error " + maxError + ", mean error " + totalError / Math.max(reference.length, 1));
+    }
+
+    @Benchmark
+    public double[] computePageRank() {
+        rank = pageRank.computePageRank(loaded, workspace);
+        return rank;
+    }
+}
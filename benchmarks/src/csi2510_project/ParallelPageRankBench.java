@@ -0,0 +1,44 @@
+package csi2510_project;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ranks graphs with ParallelPageRank across thread counts, to compare against PageRankBench.
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelPageRankBench {
+    @Param({"email-dnc.edges", "powerlaw:1000000:10000000"})
+    String graph;
+
+    @Param({"1", "4", "32"})
+    int threads;
+
+    private CsrGraph loaded;
+    private ParallelPageRank pageRank;
+
+    @Setup
+    public void setUp() throws Exception {
+        loaded = CsrGraph.of(SyntheticGraphs.load(graph));
+        loaded.transpose();
+        pageRank = new ParallelPageRank(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pageRank.close();
+    }
+
+    @Benchmark
+    public double[] computePageRank() {
+        return pageRank.computePageRank(loaded);
+    }
+}
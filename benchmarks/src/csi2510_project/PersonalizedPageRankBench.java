@@ -0,0 +1,41 @@
+package csi2510_project;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ranks a batch of personalized PageRank seeds, as a recommendation service would.
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PersonalizedPageRankBench {
+    @Param({"email-dnc.edges", "powerlaw:100000:1000000"})
+    String graph;
+
+    @Param({"256"})
+    int seedCount;
+
+    private CsrGraph loaded;
+    private int[] seeds;
+
+    @Setup
+    public void setUp() throws Exception {
+        loaded = CsrGraph.of(SyntheticGraphs.load(graph));
+        seeds = new int[seedCount];
+        for (int i = 0; i < seedCount; i++) {
+            seeds[i] = (int) ((long) i * loaded.nodeCount() / seedCount);
+        }
+    }
+
+    @Benchmark
+    public double[][] computeForSeeds() {
+        return new PersonalizedPageRank().computeForSeeds(loaded, seeds);
+    }
+}
@@ -0,0 +1,54 @@
+package csi2510_project;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ranks hourly windows over the busiest month of email-dnc.edges, sliding one IncrementalPageRank against building
+ * and ranking each window from scratch.
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SlidingWindowPageRankBench {
+    private static final long HOUR = 3600;
+    private static final long MONTH = 30 * 24 * HOUR;
+
+    @Param({"86400", "604800"})
+    long windowLength;
+
+    private TemporalGraph graph;
+    private long start;
+
+    @Setup
+    public void setUp() throws Exception {
+        graph = CSI2510.readTemporalGraph("email-dnc.edges");
+        start = graph.lastTimestamp() - MONTH;
+    }
+
+    @Benchmark
+    public long slide() {
+        SlidingWindowPageRank pageRank = new SlidingWindowPageRank(graph);
+        for (long from = start; from < start + MONTH; from += HOUR) {
+            pageRank.slide(from, from + windowLength);
+        }
+        return pageRank.getPushCount();
+    }
+
+    @Benchmark
+    public double rebuild() {
+        PageRank pageRank = new PageRank();
+        PageRankWorkspace workspace = new PageRankWorkspace();
+        double total = 0;
+        for (long from = start; from < start + MONTH; from += HOUR) {
+            total += pageRank.computePageRank(graph.window(from, from + windowLength), workspace)[0];
+        }
+        return total;
+    }
+}
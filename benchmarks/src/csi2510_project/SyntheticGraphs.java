@@ -0,0 +1,53 @@
+package csi2510_project;
+
+import java.util.Random;
+
+/**
+ * Generates graphs for benchmarking.
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+public class SyntheticGraphs {
+
+    /**
+     * Generates a directed graph whose in-degrees follow a power law, like web or email graphs. Sources are uniform
+     * and each target is chosen by preferential attachment: with probability 1/2 a uniform node, otherwise the
+     * target of a uniformly chosen earlier edge. Duplicate edges are dropped, as CSI2510.readGraph does.
+     *
+     * @param nodeCount the number of nodes
+     * @param edgeCount the number of edges to generate before dropping duplicates
+     * @param seed      the random seed
+     * @return the generated graph
+     */
+    public static CsrGraph powerLaw(int nodeCount, int edgeCount, long seed) {
+        Random rng = new Random(seed);
+        int[] targets = new int[edgeCount];
+        CsrGraph.Builder builder = new CsrGraph.Builder(nodeCount, true);
+        for (int i = 0; i < nodeCount; i++) {
+            builder.addNode(i);
+        }
+
+        for (int e = 0; e < edgeCount; e++) {
+            int u = rng.nextInt(nodeCount);
+            int v = (e == 0 || rng.nextBoolean()) ? rng.nextInt(nodeCount) : targets[rng.nextInt(e)];
+            targets[e] = v;
+            builder.addEdge(u, v);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Parses a graph parameter of the form "file.edges" (loaded with CSI2510.readGraph) or "powerlaw:nodes:edges".
+     *
+     * @param spec the graph parameter
+     * @return the graph
+     * @throws Exception if the edge list cannot be read
+     */
+    public static Graph load(String spec) throws Exception {
+        if (spec.startsWith("powerlaw:")) {
+            String[] parts = spec.split(":");
+            return powerLaw(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]), 12345);
+        }
+        return CSI2510.readGraph(spec);
+    }
+}
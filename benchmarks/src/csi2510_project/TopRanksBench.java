@@ -0,0 +1,50 @@
+package csi2510_project;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Picks the top nodes of a large ranking with the bounded heap, against sorting every node.
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TopRanksBench {
+    @Param({"10000000"})
+    int nodeCount;
+
+    @Param({"100"})
+    int k;
+
+    private double[] rank;
+
+    @Setup
+    public void setUp() {
+        // Power-law-like ranks: most nodes near 1 - d, a few far above
+        Random random = new Random(42);
+        rank = new double[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            rank[i] = (1 - PageRank.DAMPING_FACTOR) / Math.pow(1 - random.nextDouble(), 0.7);
+        }
+    }
+
+    @Benchmark
+    public int[] select() {
+        return TopRanks.select(rank, nodeCount, k);
+    }
+
+    @Benchmark
+    public double[] sortAll() {
+        double[] sorted = rank.clone();
+        Arrays.sort(sorted);
+        return Arrays.copyOfRange(sorted, nodeCount - k, nodeCount);
+    }
+}
@@ -0,0 +1,46 @@
+package csi2510_project;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ranks with the Vector API kernels in double and float precision, to compare against
+ * PageRankBench.computePageRankInWorkspace.
+ *
+ * @author Ben Herweyer <benjamin.herweyer@gmail.com>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Benchmark)
+public class VectorPageRankBench {
+    @Param({"email-dnc.edges", "powerlaw:1000000:10000000"})
+    String graph;
+
+    @Param({"DOUBLE", "FLOAT"})
+    VectorPageRank.Precision precision;
+
+    private CsrGraph loaded;
+    private final PageRankWorkspace workspace = new PageRankWorkspace();
+
+    @Setup
+    public void setUp() throws Exception {
+        loaded = CsrGraph.of(SyntheticGraphs.load(graph));
+    }
+
+    @Benchmark
+    public double[] computePageRank() {
+        return new VectorPageRank(precision).computePageRank(loaded, workspace);
+    }
+
+    /**
+     * The scalar double kernel on the same graph and workspace.
+     */
+    @Benchmark
+    public double[] computeScalar() {
+        return new PageRank().computePageRank(loaded, workspace);
+    }
+}
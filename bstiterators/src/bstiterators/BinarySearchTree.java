@@ -1,3 +1,5 @@
+package bstiterators;
+
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
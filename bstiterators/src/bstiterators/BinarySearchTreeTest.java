@@ -1,3 +1,5 @@
+package bstiterators;
+
 import java.util.Iterator;
 
 public class BinarySearchTreeTest {